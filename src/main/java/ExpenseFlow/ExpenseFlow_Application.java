@@ -1,12 +1,25 @@
 package ExpenseFlow;
 
+import ExpenseFlow.config.DatasetGenerationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Arrays;
 
 @SpringBootApplication
+@EnableScheduling
 public class ExpenseFlow_Application {
 
 	public static void main(String[] args) {
+		if (Arrays.asList(args).contains("--" + DatasetGenerationRunner.OPTION)) {
+			// Generate a capacity testing dataset, then exit. The security configuration needs the
+			// servlet context, a random port keeps it clear of a running instance.
+			System.exit(SpringApplication.exit(new SpringApplicationBuilder(ExpenseFlow_Application.class)
+					.properties("server.port=0")
+					.run(args)));
+		}
 		SpringApplication.run(ExpenseFlow_Application.class, args);
 		System.out.println("\n" +
 				"╔══════════════════════════════════════════════════════════════╗\n" +
@@ -0,0 +1,31 @@
+package ExpenseFlow.config;
+
+import ExpenseFlow.service.DatasetGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command line mode for capacity testing: started with --generate-dataset, the application
+ * fills the configured database through DatasetGenerator and exits without serving requests.
+ * Settings are the dataset.* properties, e.g.
+ * <pre>
+ * java -jar expenseflow.jar --generate-dataset --dataset.users=5000 --dataset.expenses-per-user=2000
+ * </pre>
+ */
+@Component
+public class DatasetGenerationRunner implements ApplicationRunner {
+
+    public static final String OPTION = "generate-dataset";
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (args.containsOption(OPTION)) {
+            datasetGenerator.generate();
+        }
+    }
+}
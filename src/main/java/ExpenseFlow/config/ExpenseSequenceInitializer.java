@@ -0,0 +1,78 @@
+package ExpenseFlow.config;
+
+import ExpenseFlow.entity.Expense;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Expense ids used to come from AUTO_INCREMENT. Under MySQLDialect Hibernate has no sequences and
+ * emulates expenses_seq with a single row table that starts at 1 on existing databases.
+ * Moves it past the highest id already in use before the first insert can collide.
+ */
+@Component
+public class ExpenseSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseSequenceInitializer.class);
+
+    // Injected so the schema, including expenses_seq, exists before this runs
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void alignWithExistingIds() throws SQLException {
+        if (!isSequenceTable()) {
+            return;
+        }
+        int updated = jdbcTemplate.update(
+                "UPDATE expenses_seq SET next_val = (SELECT COALESCE(MAX(id), 0) + ? + 1 FROM expenses) " +
+                "WHERE next_val < (SELECT COALESCE(MAX(id), 0) + ? + 1 FROM expenses)",
+                Expense.ID_ALLOCATION_SIZE, Expense.ID_ALLOCATION_SIZE);
+        if (updated > 0) {
+            log.info("Moved expenses_seq past the existing expense ids");
+        }
+    }
+
+    /**
+     * Moves expenses_seq past ids that were written outside Hibernate, e.g. by DatasetGenerator.
+     */
+    public void restartAfterExistingIds() throws SQLException {
+        if (isSequenceTable()) {
+            alignWithExistingIds();
+            return;
+        }
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM expenses", Long.class);
+        jdbcTemplate.execute("ALTER SEQUENCE expenses_seq RESTART WITH " + (maxId + Expense.ID_ALLOCATION_SIZE + 1));
+    }
+
+    // Decided by the dialect, not the database: H2 under MySQLDialect (loadtest profile) gets the table too
+    private boolean isSequenceTable() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : new String[]{"expenses_seq", "EXPENSES_SEQ"}) {
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
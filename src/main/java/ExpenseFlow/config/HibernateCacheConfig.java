@@ -0,0 +1,39 @@
+package ExpenseFlow.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.io.IOException;
+
+@Configuration
+public class HibernateCacheConfig {
+
+    // The provider only keeps a weak reference, held here for the lifetime of the context
+    private final ClassLoader cacheClassLoader = new ClassLoader(getClass().getClassLoader()) {
+    };
+
+    /**
+     * Second-level cache manager owned by this application context. JCache providers share one
+     * manager per configuration URI and class loader, so every context in a JVM (test contexts)
+     * used to get the same one, and the first context to close or fail to start closed it for
+     * the others. A class loader of its own makes the manager private to this context.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${spring.jpa.properties.hibernate.javax.cache.provider}") String provider,
+            @Value("${spring.jpa.properties.hibernate.javax.cache.uri}") String configResource) throws IOException {
+        return Caching.getCachingProvider(provider)
+                .getCacheManager(new ClassPathResource(configResource).getURI(), cacheClassLoader);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+}
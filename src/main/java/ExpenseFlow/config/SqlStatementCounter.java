@@ -0,0 +1,46 @@
+package ExpenseFlow.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ * Reset at the start of each HTTP request by SqlStatementCountFilter.
+ * Statements run on other threads (parallel analytics sections, streamed exports) are not counted.
+ */
+@Component
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    public int current() {
+        return COUNT.get()[0];
+    }
+
+    public void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    // Low cardinality bucket used as a metric tag
+    public static String bucket(int count) {
+        if (count == 0) {
+            return "0";
+        }
+        if (count == 1) {
+            return "1";
+        }
+        if (count <= 5) {
+            return "2-5";
+        }
+        if (count <= 20) {
+            return "6-20";
+        }
+        return "21+";
+    }
+}
@@ -0,0 +1,24 @@
+package ExpenseFlow.config.jwt;
+
+import ExpenseFlow.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Principal of a request authenticated by JWT, built from the token claims
+ * so identifying the caller needs no database access.
+ */
+public record AuthenticatedUser(Long id, String username, User.Role role) implements Principal {
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
@@ -1,7 +1,12 @@
 package ExpenseFlow.config.jwt;
 
-import ExpenseFlow.service.CustomUserDetailsService;
+import ExpenseFlow.entity.User;
+import ExpenseFlow.repository.UserRepository;
+import ExpenseFlow.service.AccountStatusCache;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,20 +14,43 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final List<String> OUTCOMES = List.of("anonymous", "expired", "invalid", "authenticated", "unknown_user");
+
     @Autowired
     private JwtUtils jwtUtils;
 
     @Autowired
-    private CustomUserDetailsService customUserDetailsService;
+    private AccountStatusCache accountStatusCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // One timer per outcome, registered once instead of looked up on every request
+    private final Map<String, Timer> timers = new HashMap<>();
+
+    @PostConstruct
+    void registerTimers() {
+        for (String outcome : OUTCOMES) {
+            timers.put(outcome, Timer.builder("expenseflow.jwt.filter")
+                    .description("JWT verification and principal resolution")
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -30,31 +58,54 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                                     FilterChain filterChain)
             throws ServletException, IOException {
 
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "anonymous";
         String header = request.getHeader("Authorization");
-        String token = null;
-        String username = null;
+        VerifiedToken verified = null;
 
         if (header != null && header.startsWith("Bearer ")) {
-            token = header.substring(7).trim();
+            String token = header.substring(7).trim();
             try {
-                username = jwtUtils.extractUsername(token);
+                // Signature and expiry are checked here, once per distinct token
+                verified = jwtUtils.verify(token);
             } catch (ExpiredJwtException e) {
                 // Token expired - continue without authentication
+                outcome = "expired";
             } catch (Exception e) {
                 // Invalid token - continue without authentication
+                outcome = "invalid";
             }
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
-
-            if (jwtUtils.isTokenValid(token, userDetails.getUsername())) {
+        if (verified != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            AuthenticatedUser principal = toPrincipal(verified);
+            if (principal != null) {
                 UsernamePasswordAuthenticationToken authToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.authorities());
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                outcome = "authenticated";
+            } else {
+                outcome = "unknown_user";
             }
         }
 
+        // Only the authentication work is timed, not the rest of the chain
+        sample.stop(timers.get(outcome));
+
         filterChain.doFilter(request, response);
     }
+
+    private AuthenticatedUser toPrincipal(VerifiedToken verified) {
+        if (verified.userId() == null || verified.role() == null) {
+            // Issued before id and role were claims, resolve them once from the database
+            return userRepository.findByUsername(verified.username())
+                    .map(user -> new AuthenticatedUser(user.getId(), user.getUsername(), user.getRole()))
+                    .orElse(null);
+        }
+        if (accountStatusCache.isEnabled()) {
+            User.Role role = accountStatusCache.currentRole(verified.userId()).orElse(null);
+            return role != null ? new AuthenticatedUser(verified.userId(), verified.username(), role) : null;
+        }
+        return new AuthenticatedUser(verified.userId(), verified.username(), verified.role());
+    }
 }
@@ -1,8 +1,15 @@
 package ExpenseFlow.config.jwt;
 
+import ExpenseFlow.entity.User;
+import ExpenseFlow.util.BoundedTtlCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -12,46 +19,86 @@ import java.util.Date;
 @Component
 public class JwtUtils {
     
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String ROLE_CLAIM = "role";
+
     @Value("${jwt.secret:ExpenseFlowSecretKeyForJWTTokenGeneration2024SecureAndLongEnough}")
     private String SECRET;
     
     @Value("${jwt.expiration:86400000}")
     private long EXPIRATION_TIME;
-    
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
+
+    @Value("${jwt.cache.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    // Built once, both are immutable and thread safe
+    private Key signingKey;
+    private JwtParser parser;
+
+    // Tokens whose signature was already checked, each kept until the token expires
+    private BoundedTtlCache<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = new BoundedTtlCache<>(cacheMaxEntries, EXPIRATION_TIME);
     }
 
-    public String generateToken(String username) {
+    // Id and role travel in the token so authenticating a request needs no user lookup
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole().name())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
+
+    /**
+     * Parses and verifies the token once; repeat calls with the same token are a cache lookup.
+     * Throws a JwtException when the token is malformed, tampered with, expired or never expires.
+     */
+    public VerifiedToken verify(String token) {
+        String trimmed = token.trim();
+        VerifiedToken cached = verifiedTokens.get(trimmed);
+        if (cached != null) {
+            if (cached.isExpired()) {
+                verifiedTokens.invalidate(trimmed);
+                throw new ExpiredJwtException(null, null, "JWT expired at " + cached.expiration());
+            }
+            return cached;
+        }
+
+        Claims claims = parser.parseClaimsJws(trimmed).getBody();
+        if (claims.getExpiration() == null) {
+            throw new MalformedJwtException("JWT has no expiration");
+        }
+        Number userId = claims.get(USER_ID_CLAIM, Number.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(),
+                userId != null ? userId.longValue() : null,
+                role != null ? User.Role.valueOf(role) : null,
+                claims.getExpiration());
+        long ttlNanos = (verified.expiration().getTime() - System.currentTimeMillis()) * 1_000_000L;
+        verifiedTokens.put(trimmed, verified, ttlNanos);
+        return verified;
+    }
     
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token.trim())
-                .getBody()
-                .getSubject();
+        return verify(token).username();
     }
     
     public boolean isTokenValid(String token, String username) {
-        final String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
+        VerifiedToken verified = verify(token);
+        return verified.username().equals(username) && !verified.isExpired();
     }
 
-    private boolean isTokenExpired(String token) {
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-        return expiration.before(new Date());
+    public BoundedTtlCache.Stats cacheStats() {
+        return verifiedTokens.stats();
     }
 }
@@ -0,0 +1,16 @@
+package ExpenseFlow.config.jwt;
+
+import ExpenseFlow.entity.User;
+
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature and expiry have been checked.
+ * userId and role are null for tokens issued before they were added as claims.
+ */
+public record VerifiedToken(String username, Long userId, User.Role role, Date expiration) {
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
@@ -1,7 +1,18 @@
 package ExpenseFlow.controller;
 
+import ExpenseFlow.config.BoundedPasswordEncoder;
+import ExpenseFlow.config.jwt.JwtUtils;
 import ExpenseFlow.entity.User;
 import ExpenseFlow.repository.UserRepository;
+import ExpenseFlow.service.AnalyticsCache;
+import ExpenseFlow.service.BudgetSpentService;
+import ExpenseFlow.service.ExpenseColumnStore;
+import ExpenseFlow.service.ExpenseIngestService;
+import ExpenseFlow.service.ExpenseRollupService;
+import ExpenseFlow.service.ExpenseSearchService;
+import ExpenseFlow.service.LoginThrottle;
+import ExpenseFlow.service.RateLimiter;
+import ExpenseFlow.util.BoundedTtlCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -10,6 +21,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -21,6 +33,36 @@ public class AdminController {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ExpenseRollupService rollupService;
+
+    @Autowired
+    private BudgetSpentService budgetSpentService;
+
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private ExpenseIngestService ingestService;
+
+    @Autowired
+    private ExpenseSearchService searchService;
+
+    @Autowired
+    private ExpenseColumnStore columnStore;
+
     @Operation(summary = "Get all users", description = "Retrieves all users in the system (Admin only)")
     @GetMapping("/users")
     public ResponseEntity<List<User>> getAllUsers() {
@@ -41,4 +83,63 @@ public class AdminController {
     public ResponseEntity<String> hello() {
         return ResponseEntity.ok("Hello, this is admin endpoint. You have admin access!");
     }
+
+    @Operation(summary = "Rebuild expense rollup", description = "Regenerates the daily spending rollup from raw expenses, for one user or for everyone (Admin only)")
+    @PostMapping("/rollup/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRollup(@RequestParam(required = false) Long userId) {
+        int buckets = userId != null ? rollupService.rebuildForUser(userId) : rollupService.rebuildAll();
+        int budgets = userId != null ? budgetSpentService.reconcileUser(userId) : budgetSpentService.reconcileAll();
+        return ResponseEntity.ok(Map.of("buckets", buckets, "budgetsCorrected", budgets));
+    }
+
+    @Operation(summary = "Rebuild search index", description = "Regenerates the full-text search index from raw expenses (Admin only)")
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildSearchIndex() {
+        return ResponseEntity.ok(Map.of("expensesIndexed", searchService.rebuildAll()));
+    }
+
+    @Operation(summary = "Reconcile budget spent amounts", description = "Corrects budgets whose stored spent amount drifted from the expense rollup (Admin only)")
+    @PostMapping("/budgets/reconcile")
+    public ResponseEntity<Map<String, Object>> reconcileBudgets(@RequestParam(required = false) Long userId) {
+        int budgets = userId != null ? budgetSpentService.reconcileUser(userId) : budgetSpentService.reconcileAll();
+        return ResponseEntity.ok(Map.of("budgetsCorrected", budgets));
+    }
+
+    @Operation(summary = "Analytics cache statistics", description = "Hit, miss, eviction and invalidation counts of the analytics result cache (Admin only)")
+    @GetMapping("/cache/analytics")
+    public ResponseEntity<BoundedTtlCache.Stats> getAnalyticsCacheStats() {
+        return ResponseEntity.ok(analyticsCache.stats());
+    }
+
+    @Operation(summary = "Expense column store statistics", description = "Users held, rows, approximate memory use, loads and evictions of the in-memory analytics columns (Admin only)")
+    @GetMapping("/cache/columns")
+    public ResponseEntity<ExpenseColumnStore.Stats> getColumnStoreStats() {
+        return ResponseEntity.ok(columnStore.stats());
+    }
+
+    @Operation(summary = "Verified token cache statistics", description = "Hit and miss counts of the cache of already verified JWTs (Admin only)")
+    @GetMapping("/cache/tokens")
+    public ResponseEntity<BoundedTtlCache.Stats> getTokenCacheStats() {
+        return ResponseEntity.ok(jwtUtils.cacheStats());
+    }
+
+    @Operation(summary = "Authentication load statistics", description = "Password hashing pool queue depth and latency, and login throttling counts (Admin only)")
+    @GetMapping("/auth/stats")
+    public ResponseEntity<Map<String, Object>> getAuthStats() {
+        return ResponseEntity.ok(Map.of(
+                "passwordHashing", passwordEncoder.stats(),
+                "loginThrottle", loginThrottle.stats()));
+    }
+
+    @Operation(summary = "Rate limiter statistics", description = "Tracked user buckets and rejected request counts of the API rate limiter (Admin only)")
+    @GetMapping("/ratelimit/stats")
+    public ResponseEntity<RateLimiter.Stats> getRateLimitStats() {
+        return ResponseEntity.ok(rateLimiter.stats());
+    }
+
+    @Operation(summary = "Expense ingestion statistics", description = "Queue depth, accepted, rejected and written counts and average group commit size of the asynchronous expense ingestion (Admin only)")
+    @GetMapping("/ingest/stats")
+    public ResponseEntity<ExpenseIngestService.Stats> getIngestStats() {
+        return ResponseEntity.ok(ingestService.stats());
+    }
 }
@@ -2,6 +2,7 @@ package ExpenseFlow.controller;
 
 import ExpenseFlow.dto.AnalyticsResponse;
 import ExpenseFlow.service.AnalyticsService;
+import ExpenseFlow.service.DataVersionService;
 import ExpenseFlow.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -10,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDate;
 
@@ -26,26 +28,42 @@ public class AnalyticsController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DataVersionService dataVersions;
+
     @Operation(summary = "Get analytics for date range", description = "Retrieves comprehensive financial analytics for a specified date range")
     @GetMapping("/date-range")
     public ResponseEntity<AnalyticsResponse> getAnalytics(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        AnalyticsResponse analytics = analyticsService.getAnalytics(userService.getCurrentUserId(), startDate, endDate);
-        return ResponseEntity.ok(analytics);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            WebRequest webRequest) {
+        Long userId = userService.getCurrentUserId();
+        if (webRequest.checkNotModified(dataVersions.etag(userId))) {
+            return null;
+        }
+        AnalyticsResponse analytics = analyticsService.getAnalytics(userId, startDate, endDate);
+        return ResponseEntity.ok().cacheControl(DataVersionService.REVALIDATE).body(analytics);
     }
 
     @Operation(summary = "Get current month analytics", description = "Retrieves financial analytics for the current month")
     @GetMapping("/current-month")
-    public ResponseEntity<AnalyticsResponse> getCurrentMonthAnalytics() {
-        AnalyticsResponse analytics = analyticsService.getCurrentMonthAnalytics(userService.getCurrentUserId());
-        return ResponseEntity.ok(analytics);
+    public ResponseEntity<AnalyticsResponse> getCurrentMonthAnalytics(WebRequest webRequest) {
+        Long userId = userService.getCurrentUserId();
+        if (webRequest.checkNotModified(dataVersions.etag(userId, LocalDate.now()))) {
+            return null;
+        }
+        AnalyticsResponse analytics = analyticsService.getCurrentMonthAnalytics(userId);
+        return ResponseEntity.ok().cacheControl(DataVersionService.REVALIDATE).body(analytics);
     }
 
     @Operation(summary = "Get yearly analytics", description = "Retrieves financial analytics for a specific year")
     @GetMapping("/year/{year}")
-    public ResponseEntity<AnalyticsResponse> getYearlyAnalytics(@PathVariable int year) {
-        AnalyticsResponse analytics = analyticsService.getYearlyAnalytics(userService.getCurrentUserId(), year);
-        return ResponseEntity.ok(analytics);
+    public ResponseEntity<AnalyticsResponse> getYearlyAnalytics(@PathVariable int year, WebRequest webRequest) {
+        Long userId = userService.getCurrentUserId();
+        if (webRequest.checkNotModified(dataVersions.etag(userId))) {
+            return null;
+        }
+        AnalyticsResponse analytics = analyticsService.getYearlyAnalytics(userId, year);
+        return ResponseEntity.ok().cacheControl(DataVersionService.REVALIDATE).body(analytics);
     }
 }
@@ -3,6 +3,7 @@ package ExpenseFlow.controller;
 import ExpenseFlow.dto.BudgetRequest;
 import ExpenseFlow.dto.BudgetResponse;
 import ExpenseFlow.service.BudgetService;
+import ExpenseFlow.service.DataVersionService;
 import ExpenseFlow.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,7 +13,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -28,6 +31,9 @@ public class BudgetController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DataVersionService dataVersions;
+
     @Operation(summary = "Create a new budget", description = "Creates a new budget for the authenticated user")
     @PostMapping
     public ResponseEntity<BudgetResponse> createBudget(@Valid @RequestBody BudgetRequest request) {
@@ -37,16 +43,25 @@ public class BudgetController {
 
     @Operation(summary = "Get all budgets", description = "Retrieves all budgets for the authenticated user")
     @GetMapping
-    public ResponseEntity<List<BudgetResponse>> getAllBudgets() {
-        List<BudgetResponse> budgets = budgetService.getAllBudgets(userService.getCurrentUserId());
-        return ResponseEntity.ok(budgets);
+    public ResponseEntity<List<BudgetResponse>> getAllBudgets(WebRequest webRequest) {
+        Long userId = userService.getCurrentUserId();
+        if (webRequest.checkNotModified(dataVersions.etag(userId))) {
+            return null;
+        }
+        List<BudgetResponse> budgets = budgetService.getAllBudgets(userId);
+        return ResponseEntity.ok().cacheControl(DataVersionService.REVALIDATE).body(budgets);
     }
 
     @Operation(summary = "Get active budgets", description = "Retrieves all active budgets for the authenticated user")
     @GetMapping("/active")
-    public ResponseEntity<List<BudgetResponse>> getActiveBudgets() {
-        List<BudgetResponse> budgets = budgetService.getActiveBudgets(userService.getCurrentUserId());
-        return ResponseEntity.ok(budgets);
+    public ResponseEntity<List<BudgetResponse>> getActiveBudgets(WebRequest webRequest) {
+        // Which budgets are active changes with the date as well
+        Long userId = userService.getCurrentUserId();
+        if (webRequest.checkNotModified(dataVersions.etag(userId, LocalDate.now()))) {
+            return null;
+        }
+        List<BudgetResponse> budgets = budgetService.getActiveBudgets(userId);
+        return ResponseEntity.ok().cacheControl(DataVersionService.REVALIDATE).body(budgets);
     }
 
     @Operation(summary = "Get budget by ID", description = "Retrieves a specific budget by its ID")
@@ -3,6 +3,7 @@ package ExpenseFlow.controller;
 import ExpenseFlow.dto.CategoryRequest;
 import ExpenseFlow.dto.CategoryResponse;
 import ExpenseFlow.service.CategoryService;
+import ExpenseFlow.service.DataVersionService;
 import ExpenseFlow.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -28,6 +30,9 @@ public class CategoryController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DataVersionService dataVersions;
+
     @Operation(summary = "Create a new category", description = "Creates a new expense category for the authenticated user")
     @PostMapping
     public ResponseEntity<CategoryResponse> createCategory(@Valid @RequestBody CategoryRequest request) {
@@ -37,9 +42,13 @@ public class CategoryController {
 
     @Operation(summary = "Get all categories", description = "Retrieves all categories for the authenticated user")
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
-        List<CategoryResponse> categories = categoryService.getAllCategories(userService.getCurrentUserId());
-        return ResponseEntity.ok(categories);
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(WebRequest webRequest) {
+        Long userId = userService.getCurrentUserId();
+        if (webRequest.checkNotModified(dataVersions.etag(userId))) {
+            return null;
+        }
+        List<CategoryResponse> categories = categoryService.getAllCategories(userId);
+        return ResponseEntity.ok().cacheControl(DataVersionService.REVALIDATE).body(categories);
     }
 
     @Operation(summary = "Get category by ID", description = "Retrieves a specific category by its ID")
@@ -1,8 +1,17 @@
 package ExpenseFlow.controller;
 
+import ExpenseFlow.dto.CursorPage;
+import ExpenseFlow.dto.ExpenseImportResponse;
+import ExpenseFlow.dto.ExpenseReceipt;
 import ExpenseFlow.dto.ExpenseRequest;
 import ExpenseFlow.dto.ExpenseResponse;
+import ExpenseFlow.dto.ExpenseSearchResponse;
+import ExpenseFlow.service.ExpenseExportService;
+import ExpenseFlow.service.ExpenseImportService;
+import ExpenseFlow.service.ExpenseIngestService;
+import ExpenseFlow.service.ExpenseSearchService;
 import ExpenseFlow.service.ExpenseService;
+import ExpenseFlow.service.DataVersionService;
 import ExpenseFlow.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -10,10 +19,17 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -27,9 +43,21 @@ public class ExpenseController {
     @Autowired
     private ExpenseService expenseService;
 
+    @Autowired
+    private ExpenseExportService exportService;
+
+    @Autowired
+    private ExpenseImportService importService;
+
+    @Autowired
+    private ExpenseIngestService ingestService;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private DataVersionService dataVersions;
+
     @Operation(summary = "Create a new expense", description = "Creates a new expense record for the authenticated user")
     @PostMapping
     public ResponseEntity<ExpenseResponse> createExpense(@Valid @RequestBody ExpenseRequest request) {
@@ -37,11 +65,48 @@ public class ExpenseController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
-    @Operation(summary = "Get all expenses", description = "Retrieves all expenses for the authenticated user")
+    @Operation(summary = "Queue a new expense", description = "Validates the expense and queues it for a batched write; the receipt reports when it is persisted. Queued expenses are lost if the server crashes before that")
+    @PostMapping("/ingest")
+    public ResponseEntity<ExpenseReceipt> ingestExpense(@Valid @RequestBody ExpenseRequest request) {
+        ExpenseReceipt receipt = ingestService.accept(userService.getCurrentUserId(), request);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/expenses/ingest/" + receipt.getReceiptId())
+                .body(receipt);
+    }
+
+    @Operation(summary = "Get ingestion receipt", description = "Reports whether a queued expense is still queued, persisted (with its id) or failed")
+    @GetMapping("/ingest/{receiptId}")
+    public ResponseEntity<ExpenseReceipt> getIngestReceipt(@PathVariable String receiptId) {
+        ExpenseReceipt receipt = ingestService.getReceipt(userService.getCurrentUserId(), receiptId);
+        return ResponseEntity.ok(receipt);
+    }
+
+    @Operation(summary = "Import expenses", description = "Creates many expenses in one request; invalid rows are reported and skipped")
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ExpenseImportResponse> importExpenses(@RequestBody List<ExpenseRequest> requests) {
+        ExpenseImportResponse response = importService.importExpenses(userService.getCurrentUserId(), requests);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @Operation(summary = "Import expenses from CSV", description = "Creates expenses from an uploaded CSV file with a header row; invalid rows are reported and skipped")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ExpenseImportResponse> importExpensesCsv(@RequestParam("file") MultipartFile file) throws IOException {
+        ExpenseImportResponse response = importService.importCsv(userService.getCurrentUserId(), file.getInputStream());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @Operation(summary = "Get all expenses", description = "Retrieves the expenses of the authenticated user, newest first, one page at a time")
     @GetMapping
-    public ResponseEntity<List<ExpenseResponse>> getAllExpenses() {
-        List<ExpenseResponse> expenses = expenseService.getAllExpenses(userService.getCurrentUserId());
-        return ResponseEntity.ok(expenses);
+    public ResponseEntity<CursorPage<ExpenseResponse>> getAllExpenses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        Long userId = userService.getCurrentUserId();
+        if (webRequest.checkNotModified(dataVersions.etag(userId))) {
+            return null;
+        }
+        CursorPage<ExpenseResponse> expenses = expenseService.getAllExpenses(userId, cursor, size);
+        return ResponseEntity.ok().cacheControl(DataVersionService.REVALIDATE).body(expenses);
     }
 
     @Operation(summary = "Get expense by ID", description = "Retrieves a specific expense by its ID")
@@ -51,20 +116,75 @@ public class ExpenseController {
         return ResponseEntity.ok(expense);
     }
 
-    @Operation(summary = "Get expenses by category", description = "Retrieves all expenses for a specific category")
+    @Operation(summary = "Get expenses by category", description = "Retrieves the expenses of a specific category, newest first, one page at a time")
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<ExpenseResponse>> getExpensesByCategory(@PathVariable Long categoryId) {
-        List<ExpenseResponse> expenses = expenseService.getExpensesByCategory(userService.getCurrentUserId(), categoryId);
-        return ResponseEntity.ok(expenses);
+    public ResponseEntity<CursorPage<ExpenseResponse>> getExpensesByCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        Long userId = userService.getCurrentUserId();
+        if (webRequest.checkNotModified(dataVersions.etag(userId))) {
+            return null;
+        }
+        CursorPage<ExpenseResponse> expenses = expenseService.getExpensesByCategory(userId, categoryId, cursor, size);
+        return ResponseEntity.ok().cacheControl(DataVersionService.REVALIDATE).body(expenses);
     }
 
-    @Operation(summary = "Get expenses by date range", description = "Retrieves expenses within a specified date range")
+    @Operation(summary = "Get expenses by date range", description = "Retrieves expenses within a specified date range, newest first, one page at a time")
     @GetMapping("/date-range")
-    public ResponseEntity<List<ExpenseResponse>> getExpensesByDateRange(
+    public ResponseEntity<CursorPage<ExpenseResponse>> getExpensesByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
-        List<ExpenseResponse> expenses = expenseService.getExpensesByDateRange(userService.getCurrentUserId(), startDate, endDate);
-        return ResponseEntity.ok(expenses);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        Long userId = userService.getCurrentUserId();
+        if (webRequest.checkNotModified(dataVersions.etag(userId))) {
+            return null;
+        }
+        CursorPage<ExpenseResponse> expenses = expenseService.getExpensesByDateRange(userId, startDate, endDate, cursor, size);
+        return ResponseEntity.ok().cacheControl(DataVersionService.REVALIDATE).body(expenses);
+    }
+
+    @Operation(summary = "Search expenses", description = "Full-text search over titles and descriptions with prefix and typo tolerant matching, optionally filtered by category, date range and amount, ordered by relevance or date")
+    @GetMapping("/search")
+    public ResponseEntity<ExpenseSearchResponse> searchExpenses(
+            @RequestParam String q,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(defaultValue = "relevance") String sort,
+            @RequestParam(defaultValue = "true") boolean fuzzy,
+            @RequestParam(required = false) Integer size,
+            WebRequest webRequest) {
+        ExpenseSearchService.Criteria criteria = new ExpenseSearchService.Criteria(q, categoryId, startDate, endDate,
+                minAmount, maxAmount, ExpenseSearchService.Sort.parse(sort), fuzzy);
+        Long userId = userService.getCurrentUserId();
+        if (webRequest.checkNotModified(dataVersions.etag(userId))) {
+            return null;
+        }
+        ExpenseSearchResponse results = expenseService.searchExpenses(userId, criteria, size);
+        return ResponseEntity.ok().cacheControl(DataVersionService.REVALIDATE).body(results);
+    }
+
+    @Operation(summary = "Export expenses", description = "Streams the full expense history as CSV or NDJSON, optionally filtered by date range and category")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportExpenses(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long categoryId) {
+        ExpenseExportService.Format exportFormat = ExpenseExportService.Format.parse(format);
+        Long userId = userService.getCurrentUserId();
+        exportService.checkCategory(userId, categoryId);
+        StreamingResponseBody body = out -> exportService.export(userId, exportFormat, startDate, endDate, categoryId, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"expenses." + exportFormat.getExtension() + "\"")
+                .body(body);
     }
 
     @Operation(summary = "Update expense", description = "Updates an existing expense")
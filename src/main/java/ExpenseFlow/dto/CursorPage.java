@@ -0,0 +1,18 @@
+package ExpenseFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private int size;
+    private boolean hasMore;
+    // Pass back as ?cursor= to fetch the next page, null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,22 @@
+package ExpenseFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseReceipt {
+    private String receiptId;
+    // QUEUED, PERSISTED or FAILED
+    private String status;
+    // Set once PERSISTED
+    private Long expenseId;
+    // Set once FAILED
+    private String error;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime completedAt;
+}
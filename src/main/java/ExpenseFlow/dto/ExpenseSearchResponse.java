@@ -0,0 +1,16 @@
+package ExpenseFlow.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseSearchResponse {
+    // Matching expenses in total, items holds the best ranked of them
+    private long totalHits;
+    private List<ExpenseResponse> items;
+}
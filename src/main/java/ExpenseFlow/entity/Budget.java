@@ -31,6 +31,10 @@ public class Budget {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal totalAmount;
 
+    // Running total of matching expenses, only ever changed by atomic UPDATE statements
+    @Column(name = "spent_amount", nullable = false, precision = 12, scale = 2, updatable = false)
+    private BigDecimal spentAmount = BigDecimal.ZERO;
+
     @Column(name = "start_date", nullable = false)
     private LocalDate startDate;
 
@@ -12,7 +12,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "expenses", indexes = {
-    @Index(name = "idx_user_date", columnList = "user_id, expense_date"),
+    @Index(name = "idx_user_date_id", columnList = "user_id, expense_date, id"),
+    @Index(name = "idx_user_category_date", columnList = "user_id, category_id, expense_date, id"),
     @Index(name = "idx_category", columnList = "category_id")
 })
 @Data
@@ -20,8 +21,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class Expense {
 
+    // Ids reserved per sequence round trip, matches hibernate.jdbc.batch_size
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // IDENTITY would force one INSERT round trip per row and disable JDBC batching
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "expense_seq")
+    @SequenceGenerator(name = "expense_seq", sequenceName = "expenses_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -0,0 +1,50 @@
+package ExpenseFlow.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated spending per user, day, category and payment method.
+ * Maintained by ExpenseService writes, rebuilt from expenses by ExpenseRollupService.
+ */
+@Entity
+@Table(name = "expense_daily_rollup", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_rollup_bucket", columnNames = {"user_id", "expense_date", "category_id", "payment_method"})
+}, indexes = {
+    @Index(name = "idx_rollup_category", columnList = "category_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "expense_date", nullable = false)
+    private LocalDate expenseDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "payment_method", nullable = false, length = 20)
+    private Expense.PaymentMethod paymentMethod;
+
+    @Column(name = "total_amount", nullable = false, precision = 15, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "expense_count", nullable = false)
+    private Long expenseCount;
+}
@@ -0,0 +1,42 @@
+package ExpenseFlow.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Posting of the full-text index: one row per distinct word of an expense's title and description.
+ * Maintained by ExpenseService writes, rebuilt from expenses by ExpenseSearchService.
+ * Plain id columns (no foreign keys) so expenses removed by a category cascade never block on it.
+ */
+@Entity
+@Table(name = "expense_search_terms", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_search_expense_term", columnNames = {"expense_id", "term"})
+}, indexes = {
+    @Index(name = "idx_search_user_term", columnList = "user_id, term, expense_id, weight")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExpenseSearchTerm {
+
+    public static final int MAX_TERM_LENGTH = 40;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "expense_id", nullable = false)
+    private Long expenseId;
+
+    @Column(nullable = false, length = MAX_TERM_LENGTH)
+    private String term;
+
+    // 2 when the word is in the title, plus 1 when it is in the description
+    @Column(nullable = false)
+    private Integer weight;
+}
@@ -0,0 +1,20 @@
+package ExpenseFlow.exception;
+
+public class ServiceUnavailableException extends RuntimeException {
+
+    // 0 = no Retry-After header
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message) {
+        this(message, 0);
+    }
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
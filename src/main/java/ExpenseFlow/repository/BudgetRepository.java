@@ -2,16 +2,24 @@ package ExpenseFlow.repository;
 
 import ExpenseFlow.entity.Budget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
+
+    // Spent amount of the budget aliased b, derived from the daily rollup
+    String SPENT_FROM_ROLLUP = "(SELECT COALESCE(SUM(r.totalAmount), 0) FROM ExpenseDailyRollup r " +
+            "WHERE r.user.id = b.user.id AND r.expenseDate BETWEEN b.startDate AND b.endDate " +
+            "AND (b.category IS NULL OR r.category.id = b.category.id))";
+
     List<Budget> findByUserId(Long userId);
     Optional<Budget> findByIdAndUserId(Long id, Long userId);
     List<Budget> findByUserIdAndCategoryId(Long userId, Long categoryId);
@@ -26,5 +34,45 @@ public interface BudgetRepository extends JpaRepository<Budget, Long> {
     List<Budget> findBudgetsByUserAndDateRange(@Param("userId") Long userId, 
                                                 @Param("startDate") LocalDate startDate, 
                                                 @Param("endDate") LocalDate endDate);
-}
 
+    @Query("SELECT CAST(COALESCE(SUM(b.totalAmount), 0) * 100 AS Long) FROM Budget b WHERE b.user.id = :userId AND " +
+           "b.startDate <= :endDate AND b.endDate >= :startDate")
+    long getTotalBudgetCentsByUserAndDateRange(@Param("userId") Long userId,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate);
+
+    @Query("SELECT b FROM Budget b LEFT JOIN FETCH b.category WHERE b.user.id = :userId")
+    List<Budget> findByUserIdWithCategory(@Param("userId") Long userId);
+
+    @Query("SELECT b FROM Budget b LEFT JOIN FETCH b.category WHERE b.user.id = :userId AND " +
+           "((b.startDate <= :date AND b.endDate >= :date) OR " +
+           "(b.startDate IS NULL AND b.endDate IS NULL))")
+    List<Budget> findActiveBudgetsByUserAndDateWithCategory(@Param("userId") Long userId, @Param("date") LocalDate date);
+
+    @Query("SELECT b.spentAmount FROM Budget b WHERE b.id = :id")
+    BigDecimal findSpentAmountById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Budget b SET b.spentAmount = b.spentAmount + :delta " +
+           "WHERE b.user.id = :userId AND b.startDate <= :date AND b.endDate >= :date " +
+           "AND (b.category IS NULL OR b.category.id = :categoryId)")
+    int addToSpentAmount(@Param("userId") Long userId,
+                         @Param("categoryId") Long categoryId,
+                         @Param("date") LocalDate date,
+                         @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query("UPDATE Budget b SET b.spentAmount = " + SPENT_FROM_ROLLUP + " WHERE b.id = :id")
+    int recomputeSpentAmount(@Param("id") Long id);
+
+    // Only rewrites budgets whose running total has drifted from the rollup
+    @Modifying
+    @Query("UPDATE Budget b SET b.spentAmount = " + SPENT_FROM_ROLLUP +
+           " WHERE b.user.id = :userId AND b.spentAmount <> " + SPENT_FROM_ROLLUP)
+    int reconcileSpentAmountsForUser(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE Budget b SET b.spentAmount = " + SPENT_FROM_ROLLUP +
+           " WHERE b.spentAmount <> " + SPENT_FROM_ROLLUP)
+    int reconcileSpentAmounts();
+}
@@ -0,0 +1,86 @@
+package ExpenseFlow.repository;
+
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.entity.ExpenseDailyRollup;
+import ExpenseFlow.repository.projection.ExpenseGroupTotal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ExpenseDailyRollupRepository extends JpaRepository<ExpenseDailyRollup, Long> {
+
+    boolean existsByIdIsNotNull();
+
+    // Native writes declare the table they touch, otherwise Hibernate evicts the whole second-level cache
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "expense_daily_rollup"))
+    @Query(value = "INSERT INTO expense_daily_rollup " +
+                   "(user_id, expense_date, category_id, payment_method, total_amount, expense_count) " +
+                   "VALUES (:userId, :expenseDate, :categoryId, :paymentMethod, :amount, :count) " +
+                   "ON DUPLICATE KEY UPDATE total_amount = total_amount + :amount, " +
+                   "expense_count = expense_count + :count",
+           nativeQuery = true)
+    int addToBucket(@Param("userId") Long userId,
+                    @Param("expenseDate") LocalDate expenseDate,
+                    @Param("categoryId") Long categoryId,
+                    @Param("paymentMethod") String paymentMethod,
+                    @Param("amount") BigDecimal amount,
+                    @Param("count") long count);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseDailyRollup r WHERE r.user.id = :userId AND r.expenseDate = :expenseDate " +
+           "AND r.category.id = :categoryId AND r.paymentMethod = :paymentMethod AND r.expenseCount <= 0")
+    int deleteEmptyBucket(@Param("userId") Long userId,
+                          @Param("expenseDate") LocalDate expenseDate,
+                          @Param("categoryId") Long categoryId,
+                          @Param("paymentMethod") Expense.PaymentMethod paymentMethod);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseDailyRollup r WHERE r.category.id = :categoryId")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseDailyRollup r WHERE r.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "expense_daily_rollup"))
+    @Query(value = "INSERT INTO expense_daily_rollup " +
+                   "(user_id, expense_date, category_id, payment_method, total_amount, expense_count) " +
+                   "SELECT user_id, expense_date, category_id, payment_method, SUM(amount), COUNT(*) " +
+                   "FROM expenses WHERE user_id = :userId " +
+                   "GROUP BY user_id, expense_date, category_id, payment_method",
+           nativeQuery = true)
+    int rebuildForUser(@Param("userId") Long userId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "expense_daily_rollup"))
+    @Query(value = "INSERT INTO expense_daily_rollup " +
+                   "(user_id, expense_date, category_id, payment_method, total_amount, expense_count) " +
+                   "SELECT user_id, expense_date, category_id, payment_method, SUM(amount), COUNT(*) " +
+                   "FROM expenses " +
+                   "GROUP BY user_id, expense_date, category_id, payment_method",
+           nativeQuery = true)
+    int rebuildAll();
+
+    @Query("SELECT c.name AS categoryName, YEAR(r.expenseDate) AS expenseYear, MONTH(r.expenseDate) AS expenseMonth, " +
+           "r.paymentMethod AS paymentMethod, CAST(SUM(r.totalAmount) * 100 AS Long) AS amountCents, " +
+           "SUM(r.expenseCount) AS count " +
+           "FROM ExpenseDailyRollup r JOIN r.category c " +
+           "WHERE r.user.id = :userId AND r.expenseDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY c.name, YEAR(r.expenseDate), MONTH(r.expenseDate), r.paymentMethod")
+    List<ExpenseGroupTotal> sumByCategoryMonthAndPaymentMethod(@Param("userId") Long userId,
+                                                               @Param("startDate") LocalDate startDate,
+                                                               @Param("endDate") LocalDate endDate);
+}
@@ -1,6 +1,8 @@
 package ExpenseFlow.repository;
 
 import ExpenseFlow.entity.Expense;
+import ExpenseFlow.repository.projection.ExpenseRow;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -8,11 +10,14 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ExpenseRepository extends JpaRepository<Expense, Long> {
+    boolean existsByIdIsNotNull();
+    long countByUserId(Long userId);
     List<Expense> findByUserId(Long userId);
     List<Expense> findByUserIdOrderByExpenseDateDesc(Long userId);
     Optional<Expense> findByIdAndUserId(Long id, Long userId);
@@ -32,5 +37,52 @@ public interface ExpenseRepository extends JpaRepository<Expense, Long> {
     
     @Query("SELECT e FROM Expense e WHERE e.user.id = :userId AND e.expenseDate >= :startDate ORDER BY e.expenseDate DESC")
     List<Expense> findRecentExpenses(@Param("userId") Long userId, @Param("startDate") LocalDate startDate);
+
+    // Keyset pages: rows strictly after (cursorDate, cursorId) in (expenseDate DESC, id DESC) order,
+    // selected straight into ExpenseRow with the category name joined in
+    String EXPENSE_ROW = "SELECT new ExpenseFlow.repository.projection.ExpenseRow(e.id, e.title, e.description, " +
+            "e.amount, e.expenseDate, c.name, c.id, e.paymentMethod, e.createdAt, e.updatedAt) " +
+            "FROM Expense e JOIN e.category c ";
+
+    @Query(EXPENSE_ROW + "WHERE e.user.id = :userId AND " +
+           "(e.expenseDate < :cursorDate OR (e.expenseDate = :cursorDate AND e.id < :cursorId)) " +
+           "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseRow> findPageByUser(@Param("userId") Long userId,
+                                    @Param("cursorDate") LocalDate cursorDate,
+                                    @Param("cursorId") Long cursorId,
+                                    Limit limit);
+
+    @Query(EXPENSE_ROW + "WHERE e.user.id = :userId AND c.id = :categoryId AND " +
+           "(e.expenseDate < :cursorDate OR (e.expenseDate = :cursorDate AND e.id < :cursorId)) " +
+           "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseRow> findPageByUserAndCategory(@Param("userId") Long userId,
+                                               @Param("categoryId") Long categoryId,
+                                               @Param("cursorDate") LocalDate cursorDate,
+                                               @Param("cursorId") Long cursorId,
+                                               Limit limit);
+
+    @Query(EXPENSE_ROW + "WHERE e.user.id = :userId AND " +
+           "e.expenseDate BETWEEN :startDate AND :endDate AND " +
+           "(e.expenseDate < :cursorDate OR (e.expenseDate = :cursorDate AND e.id < :cursorId)) " +
+           "ORDER BY e.expenseDate DESC, e.id DESC")
+    List<ExpenseRow> findPageByUserAndDateRange(@Param("userId") Long userId,
+                                                @Param("startDate") LocalDate startDate,
+                                                @Param("endDate") LocalDate endDate,
+                                                @Param("cursorDate") LocalDate cursorDate,
+                                                @Param("cursorId") Long cursorId,
+                                                Limit limit);
+
+    // Search hits, put back in ranked order by the caller
+    @Query(EXPENSE_ROW + "WHERE e.user.id = :userId AND e.id IN :ids")
+    List<ExpenseRow> findRowsByUserAndIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // Run by ExpenseExportService with its own fetch size, which decides whether the driver streams.
+    // Every filter is optional
+    String EXPORT = "SELECT e FROM Expense e JOIN FETCH e.category WHERE e.user.id = :userId AND " +
+            "(:categoryId IS NULL OR e.category.id = :categoryId) AND " +
+            "(:startDate IS NULL OR e.expenseDate >= :startDate) AND " +
+            "(:endDate IS NULL OR e.expenseDate <= :endDate) " +
+            "ORDER BY e.expenseDate DESC, e.id DESC";
+
 }
 
@@ -0,0 +1,61 @@
+package ExpenseFlow.repository;
+
+import ExpenseFlow.entity.ExpenseSearchTerm;
+import ExpenseFlow.repository.projection.SearchPosting;
+import ExpenseFlow.repository.projection.TermFrequency;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ExpenseSearchTermRepository extends JpaRepository<ExpenseSearchTerm, Long> {
+
+    boolean existsByIdIsNotNull();
+
+    // Whole vocabulary of one user, only fuzzy expansion of query words needs it
+    @Query("SELECT DISTINCT t.term FROM ExpenseSearchTerm t WHERE t.userId = :userId")
+    List<String> findTermsByUserId(@Param("userId") Long userId);
+
+    // Terms in [from, to), a range scan of idx_search_user_term
+    @Query("SELECT DISTINCT t.term FROM ExpenseSearchTerm t WHERE t.userId = :userId AND t.term >= :from AND t.term < :to")
+    List<String> findTermsInRange(@Param("userId") Long userId, @Param("from") String from, @Param("to") String to);
+
+    @Query("SELECT new ExpenseFlow.repository.projection.TermFrequency(t.term, COUNT(t)) FROM ExpenseSearchTerm t " +
+           "WHERE t.userId = :userId AND t.term IN :terms GROUP BY t.term")
+    List<TermFrequency> countDocuments(@Param("userId") Long userId, @Param("terms") Collection<String> terms);
+
+    @Query("SELECT new ExpenseFlow.repository.projection.SearchPosting(t.expenseId, t.term, t.weight, e.expenseDate) " +
+           "FROM ExpenseSearchTerm t JOIN Expense e ON e.id = t.expenseId " +
+           "WHERE t.userId = :userId AND t.term IN :terms AND " +
+           "(:categoryId IS NULL OR e.category.id = :categoryId) AND " +
+           "(:startDate IS NULL OR e.expenseDate >= :startDate) AND " +
+           "(:endDate IS NULL OR e.expenseDate <= :endDate) AND " +
+           "(:minAmount IS NULL OR e.amount >= :minAmount) AND " +
+           "(:maxAmount IS NULL OR e.amount <= :maxAmount) " +
+           "ORDER BY e.expenseDate DESC, t.expenseId DESC")
+    List<SearchPosting> findPostings(@Param("userId") Long userId,
+                                     @Param("terms") Collection<String> terms,
+                                     @Param("categoryId") Long categoryId,
+                                     @Param("startDate") LocalDate startDate,
+                                     @Param("endDate") LocalDate endDate,
+                                     @Param("minAmount") BigDecimal minAmount,
+                                     @Param("maxAmount") BigDecimal maxAmount,
+                                     Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseSearchTerm t WHERE t.expenseId = :expenseId")
+    int deleteByExpenseId(@Param("expenseId") Long expenseId);
+
+    @Modifying
+    @Query("DELETE FROM ExpenseSearchTerm t WHERE t.expenseId IN " +
+           "(SELECT e.id FROM Expense e WHERE e.category.id = :categoryId)")
+    int deleteByCategoryId(@Param("categoryId") Long categoryId);
+}
@@ -0,0 +1,12 @@
+package ExpenseFlow.repository.projection;
+
+import ExpenseFlow.entity.Expense;
+
+public interface ExpenseGroupTotal {
+    String getCategoryName();
+    Integer getExpenseYear();
+    Integer getExpenseMonth();
+    Expense.PaymentMethod getPaymentMethod();
+    Long getAmountCents();
+    Long getCount();
+}
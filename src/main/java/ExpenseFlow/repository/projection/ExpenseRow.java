@@ -0,0 +1,23 @@
+package ExpenseFlow.repository.projection;
+
+import ExpenseFlow.entity.Expense;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * ExpenseResponse shaped row selected with a JPQL constructor expression.
+ * Never a managed entity, so reading it costs no persistence context entry or dirty-checking snapshot.
+ */
+public record ExpenseRow(Long id,
+                         String title,
+                         String description,
+                         BigDecimal amount,
+                         LocalDate expenseDate,
+                         String categoryName,
+                         Long categoryId,
+                         Expense.PaymentMethod paymentMethod,
+                         LocalDateTime createdAt,
+                         LocalDateTime updatedAt) {
+}
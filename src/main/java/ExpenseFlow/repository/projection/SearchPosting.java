@@ -0,0 +1,9 @@
+package ExpenseFlow.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Matched index term of an expense that passed the search filters.
+ */
+public record SearchPosting(Long expenseId, String term, Integer weight, LocalDate expenseDate) {
+}
@@ -0,0 +1,7 @@
+package ExpenseFlow.repository.projection;
+
+/**
+ * Number of the user's expenses containing an index term, ignoring search filters.
+ */
+public record TermFrequency(String term, Long documents) {
+}
@@ -0,0 +1,51 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.entity.User;
+import ExpenseFlow.repository.UserRepository;
+import ExpenseFlow.util.BoundedTtlCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Optional re-check of token claims against the users table.
+ * When enabled, a deleted account stops authenticating and a role change takes
+ * effect within security.account-check.ttl-ms instead of at token expiry.
+ * Roles and accounts are only changed directly in the database, so entries simply expire.
+ */
+@Component
+public class AccountStatusCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final boolean enabled;
+    private final BoundedTtlCache<Long, User.Role> roles;
+
+    public AccountStatusCache(@Value("${security.account-check.enabled:false}") boolean enabled,
+                              @Value("${security.account-check.max-entries:10000}") int maxEntries,
+                              @Value("${security.account-check.ttl-ms:30000}") long ttlMillis) {
+        this.enabled = enabled;
+        this.roles = new BoundedTtlCache<>(maxEntries, ttlMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Current role of the account, empty when it no longer exists.
+     */
+    public Optional<User.Role> currentRole(Long userId) {
+        User.Role role = roles.get(userId);
+        if (role == null) {
+            role = userRepository.findRoleById(userId).orElse(null);
+            if (role != null) {
+                roles.put(userId, role);
+            }
+        }
+        return Optional.ofNullable(role);
+    }
+}
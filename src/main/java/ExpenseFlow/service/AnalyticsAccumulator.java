@@ -0,0 +1,139 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.dto.AnalyticsResponse;
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.util.Money;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Collects every analytics section in a single pass over the input.
+ * Each call to {@link #add} updates the totals, the category, month and
+ * payment method groups at once, so building a response costs
+ * O(rows) instead of re-scanning the data for every group.
+ * Sums are kept as primitive cents; BigDecimal is only created in {@link #toResponse}.
+ */
+public class AnalyticsAccumulator {
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMMM yyyy");
+    private static final Expense.PaymentMethod[] PAYMENT_METHODS = Expense.PaymentMethod.values();
+
+    private long totalCents;
+    private long totalCount;
+    private final Map<String, Group> categories = new HashMap<>();
+
+    // Months indexed by (year * 12 + month - 1) - firstMonth
+    private Group[] months = new Group[12];
+    private int firstMonth = Integer.MIN_VALUE;
+
+    private final long[] paymentMethodCents = new long[PAYMENT_METHODS.length];
+    private final boolean[] paymentMethodSeen = new boolean[PAYMENT_METHODS.length];
+
+    public void add(Expense expense) {
+        LocalDate date = expense.getExpenseDate();
+        add(expense.getCategory().getName(), date.getYear(), date.getMonthValue(),
+                expense.getPaymentMethod(), Money.toCents(expense.getAmount()), 1);
+    }
+
+    /**
+     * Adds an already grouped row holding {@code count} expenses that sum to {@code cents}.
+     */
+    public void add(String categoryName, int year, int month, Expense.PaymentMethod paymentMethod,
+                    long cents, long count) {
+        totalCents += cents;
+        totalCount += count;
+
+        Group category = categories.get(categoryName);
+        if (category == null) {
+            category = new Group();
+            categories.put(categoryName, category);
+        }
+        category.cents += cents;
+        category.count += count;
+
+        Group monthGroup = monthGroup(year * 12 + month - 1);
+        monthGroup.cents += cents;
+        monthGroup.count += count;
+
+        int method = paymentMethod.ordinal();
+        paymentMethodCents[method] += cents;
+        paymentMethodSeen[method] = true;
+    }
+
+    public AnalyticsResponse toResponse(long totalBudgetCents) {
+        AnalyticsResponse response = new AnalyticsResponse();
+        response.setTotalExpenses(Money.toBigDecimal(totalCents));
+        response.setTotalTransactions(totalCount);
+        response.setTotalBudget(Money.toBigDecimal(totalBudgetCents));
+        response.setTotalSavings(Money.toBigDecimal(totalBudgetCents - totalCents));
+
+        List<Map.Entry<String, Group>> sortedCategories = new ArrayList<>(categories.entrySet());
+        sortedCategories.sort((a, b) -> Long.compare(b.getValue().cents, a.getValue().cents));
+        List<AnalyticsResponse.CategoryExpense> categoryExpenses = new ArrayList<>(sortedCategories.size());
+        for (Map.Entry<String, Group> entry : sortedCategories) {
+            Group group = entry.getValue();
+            AnalyticsResponse.CategoryExpense ce = new AnalyticsResponse.CategoryExpense();
+            ce.setCategoryName(entry.getKey());
+            ce.setAmount(Money.toBigDecimal(group.cents));
+            ce.setCount(group.count);
+            ce.setPercentage(Money.percentage(group.cents, totalCents));
+            categoryExpenses.add(ce);
+        }
+        response.setExpensesByCategory(categoryExpenses);
+
+        List<AnalyticsResponse.MonthlyExpense> monthlyExpenses = new ArrayList<>();
+        for (int i = 0; i < months.length; i++) {
+            Group group = months[i];
+            if (group == null) {
+                continue;
+            }
+            int monthIndex = firstMonth + i;
+            AnalyticsResponse.MonthlyExpense me = new AnalyticsResponse.MonthlyExpense();
+            me.setMonth(YearMonth.of(monthIndex / 12, monthIndex % 12 + 1).format(MONTH_FORMAT));
+            me.setAmount(Money.toBigDecimal(group.cents));
+            me.setCount(group.count);
+            monthlyExpenses.add(me);
+        }
+        response.setMonthlyExpenses(monthlyExpenses);
+
+        Map<String, BigDecimal> paymentMethodAmounts = new HashMap<>();
+        for (int i = 0; i < PAYMENT_METHODS.length; i++) {
+            if (paymentMethodSeen[i]) {
+                paymentMethodAmounts.put(PAYMENT_METHODS[i].name(), Money.toBigDecimal(paymentMethodCents[i]));
+            }
+        }
+        response.setExpensesByPaymentMethod(paymentMethodAmounts);
+
+        return response;
+    }
+
+    private Group monthGroup(int monthIndex) {
+        if (firstMonth == Integer.MIN_VALUE) {
+            firstMonth = monthIndex;
+        }
+        if (monthIndex < firstMonth) {
+            int shift = firstMonth - monthIndex;
+            Group[] grown = new Group[months.length + shift];
+            System.arraycopy(months, 0, grown, shift, months.length);
+            months = grown;
+            firstMonth = monthIndex;
+        } else if (monthIndex - firstMonth >= months.length) {
+            months = Arrays.copyOf(months, Math.max(months.length * 2, monthIndex - firstMonth + 1));
+        }
+        Group group = months[monthIndex - firstMonth];
+        if (group == null) {
+            group = new Group();
+            months[monthIndex - firstMonth] = group;
+        }
+        return group;
+    }
+
+    private static final class Group {
+        private long cents;
+        private long count;
+    }
+}
@@ -0,0 +1,103 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.dto.AnalyticsResponse;
+import ExpenseFlow.util.BoundedTtlCache;
+import ExpenseFlow.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Caches AnalyticsResponse per (user, startDate, endDate).
+ * Writes invalidate only the cached ranges of that user that overlap the changed dates,
+ * after the writing transaction commits.
+ */
+@Component
+public class AnalyticsCache {
+
+    private final BoundedTtlCache<Key, AnalyticsResponse> cache;
+
+    // Bumped on every invalidation so a computation that raced with a write is not cached.
+    // Only users with a computation in flight have an entry, the last one to finish removes it.
+    private final ConcurrentHashMap<Long, Loads> generations = new ConcurrentHashMap<>();
+
+    public AnalyticsCache(@Value("${analytics.cache.max-entries:10000}") int maxEntries,
+                          @Value("${analytics.cache.ttl-ms:300000}") long ttlMillis) {
+        this.cache = new BoundedTtlCache<>(maxEntries, ttlMillis);
+    }
+
+    public AnalyticsResponse get(Long userId, LocalDate startDate, LocalDate endDate, Supplier<AnalyticsResponse> loader) {
+        Key key = new Key(userId, startDate, endDate);
+        AnalyticsResponse cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = startLoad(userId);
+        AnalyticsResponse response = null;
+        try {
+            response = loader.get();
+        } finally {
+            finishLoad(key, generation, response);
+        }
+        return response;
+    }
+
+    public void invalidate(Long userId, LocalDate date) {
+        invalidate(userId, date, date);
+    }
+
+    public void invalidate(Long userId, LocalDate from, LocalDate to) {
+        TransactionUtils.afterCommit(() -> {
+            bump(userId);
+            cache.invalidateIf(key -> key.userId().equals(userId)
+                    && !key.startDate().isAfter(to) && !key.endDate().isBefore(from));
+        });
+    }
+
+    public void invalidateUser(Long userId) {
+        TransactionUtils.afterCommit(() -> {
+            bump(userId);
+            cache.invalidateIf(key -> key.userId().equals(userId));
+        });
+    }
+
+    public void invalidateAll() {
+        TransactionUtils.afterCommit(() -> {
+            generations.replaceAll((id, loads) -> new Loads(loads.generation() + 1, loads.inFlight()));
+            cache.clear();
+        });
+    }
+
+    public BoundedTtlCache.Stats stats() {
+        return cache.stats();
+    }
+
+    private long startLoad(Long userId) {
+        return generations.compute(userId, (id, loads) -> loads == null
+                ? new Loads(0, 1)
+                : new Loads(loads.generation(), loads.inFlight() + 1)).generation();
+    }
+
+    // Checked and stored under the map lock: an invalidation is either seen here or removes the entry afterwards
+    private void finishLoad(Key key, long generation, AnalyticsResponse response) {
+        generations.computeIfPresent(key.userId(), (id, loads) -> {
+            if (response != null && loads.generation() == generation) {
+                cache.put(key, response);
+            }
+            return loads.inFlight() == 1 ? null : new Loads(loads.generation(), loads.inFlight() - 1);
+        });
+    }
+
+    private void bump(Long userId) {
+        generations.computeIfPresent(userId, (id, loads) -> new Loads(loads.generation() + 1, loads.inFlight()));
+    }
+
+    private record Key(Long userId, LocalDate startDate, LocalDate endDate) {
+    }
+
+    private record Loads(long generation, int inFlight) {
+    }
+}
@@ -1,113 +1,96 @@
 package ExpenseFlow.service;
 
 import ExpenseFlow.dto.AnalyticsResponse;
-import ExpenseFlow.entity.Expense;
-import ExpenseFlow.entity.Budget;
+import ExpenseFlow.exception.ServiceUnavailableException;
+import ExpenseFlow.entity.Category;
 import ExpenseFlow.repository.BudgetRepository;
-import ExpenseFlow.repository.ExpenseRepository;
+import ExpenseFlow.repository.CategoryRepository;
+import ExpenseFlow.repository.ExpenseDailyRollupRepository;
+import ExpenseFlow.repository.projection.ExpenseGroupTotal;
+import io.micrometer.core.annotation.Timed;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.YearMonth;
-import java.time.format.DateTimeFormatter;
-import java.util.*;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import java.util.concurrent.*;
 
+// No surrounding transaction: cache hits never borrow a database connection and
+// each section query runs in its own read-only repository transaction
 @Service
-@Transactional(readOnly = true)
+@Timed(value = "expenseflow.service", extraTags = {"service", "analytics"})
+@Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
 public class AnalyticsService {
 
     @Autowired
-    private ExpenseRepository expenseRepository;
+    private ExpenseDailyRollupRepository rollupRepository;
 
     @Autowired
     private BudgetRepository budgetRepository;
 
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private ExpenseColumnStore columnStore;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Value("${analytics.timeout-ms:5000}")
+    private long timeoutMillis;
+
+    // Sections are independent queries, each one runs on its own virtual thread
+    private final ExecutorService sectionExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
     public AnalyticsResponse getAnalytics(Long userId, LocalDate startDate, LocalDate endDate) {
-        AnalyticsResponse response = new AnalyticsResponse();
-
-        // Get expenses in date range
-        List<Expense> expenses = expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate);
-
-        // Calculate total expenses
-        BigDecimal totalExpenses = expenses.stream()
-                .map(Expense::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        response.setTotalExpenses(totalExpenses);
-        response.setTotalTransactions((long) expenses.size());
-
-        // Calculate total budget
-        List<Budget> budgets = budgetRepository.findBudgetsByUserAndDateRange(userId, startDate, endDate);
-        BigDecimal totalBudget = budgets.stream()
-                .map(Budget::getTotalAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        response.setTotalBudget(totalBudget);
-        response.setTotalSavings(totalBudget.subtract(totalExpenses));
-
-        // Expenses by category
-        Map<String, BigDecimal> categoryAmounts = expenses.stream()
-                .collect(Collectors.groupingBy(
-                        e -> e.getCategory().getName(),
-                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
-                ));
-
-        List<AnalyticsResponse.CategoryExpense> categoryExpenses = categoryAmounts.entrySet().stream()
-                .map(entry -> {
-                    AnalyticsResponse.CategoryExpense ce = new AnalyticsResponse.CategoryExpense();
-                    ce.setCategoryName(entry.getKey());
-                    ce.setAmount(entry.getValue());
-                    ce.setCount(expenses.stream()
-                            .filter(e -> e.getCategory().getName().equals(entry.getKey()))
-                            .count());
-                    if (totalExpenses.compareTo(BigDecimal.ZERO) > 0) {
-                        ce.setPercentage((entry.getValue().doubleValue() / totalExpenses.doubleValue()) * 100);
-                    } else {
-                        ce.setPercentage(0.0);
-                    }
-                    return ce;
-                })
-                .sorted((a, b) -> b.getAmount().compareTo(a.getAmount()))
-                .collect(Collectors.toList());
-
-        response.setExpensesByCategory(categoryExpenses);
-
-        // Monthly expenses
-        Map<YearMonth, BigDecimal> monthlyAmounts = expenses.stream()
-                .collect(Collectors.groupingBy(
-                        e -> YearMonth.from(e.getExpenseDate()),
-                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
-                ));
-
-        List<AnalyticsResponse.MonthlyExpense> monthlyExpenses = monthlyAmounts.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(entry -> {
-                    AnalyticsResponse.MonthlyExpense me = new AnalyticsResponse.MonthlyExpense();
-                    me.setMonth(entry.getKey().format(DateTimeFormatter.ofPattern("MMMM yyyy")));
-                    me.setAmount(entry.getValue());
-                    me.setCount(expenses.stream()
-                            .filter(e -> YearMonth.from(e.getExpenseDate()).equals(entry.getKey()))
-                            .count());
-                    return me;
-                })
-                .collect(Collectors.toList());
-
-        response.setMonthlyExpenses(monthlyExpenses);
-
-        // Expenses by payment method
-        Map<String, BigDecimal> paymentMethodAmounts = expenses.stream()
-                .collect(Collectors.groupingBy(
-                        e -> e.getPaymentMethod().name(),
-                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
-                ));
-
-        response.setExpensesByPaymentMethod(paymentMethodAmounts);
-
-        return response;
+        return analyticsCache.get(userId, startDate, endDate, () -> computeAnalytics(userId, startDate, endDate));
+    }
+
+    private AnalyticsResponse computeAnalytics(Long userId, LocalDate startDate, LocalDate endDate) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        Future<AnalyticsAccumulator> expenseGroups = sectionExecutor.submit(
+                () -> accumulateExpenses(userId, startDate, endDate));
+        Future<Long> budgetTotalCents = sectionExecutor.submit(
+                () -> budgetRepository.getTotalBudgetCentsByUserAndDateRange(userId, startDate, endDate));
+
+        try {
+            return await(expenseGroups, deadline).toResponse(await(budgetTotalCents, deadline));
+        } finally {
+            expenseGroups.cancel(true);
+            budgetTotalCents.cancel(true);
+        }
+    }
+
+    private AnalyticsAccumulator accumulateExpenses(Long userId, LocalDate startDate, LocalDate endDate) {
+        AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+
+        // In-memory columns when the store holds the user, a loop over the rows of the range
+        ExpenseColumnStore.UserColumns columns = columnStore.columns(userId);
+        if (columns != null) {
+            Map<Long, String> categoryNames = categoryRepository.findByUserId(userId).stream()
+                    .collect(Collectors.toMap(Category::getId, Category::getName));
+            columns.aggregate(startDate, endDate, categoryNames, accumulator);
+            return accumulator;
+        }
+
+        // One grouped query over the daily rollup, folded into every section in a single pass
+        for (ExpenseGroupTotal row : rollupRepository.sumByCategoryMonthAndPaymentMethod(userId, startDate, endDate)) {
+            accumulator.add(row.getCategoryName(),
+                    row.getExpenseYear(),
+                    row.getExpenseMonth(),
+                    row.getPaymentMethod(),
+                    row.getAmountCents(),
+                    row.getCount());
+        }
+        return accumulator;
     }
 
     public AnalyticsResponse getCurrentMonthAnalytics(Long userId) {
@@ -121,5 +104,25 @@ public class AnalyticsService {
         LocalDate endDate = LocalDate.of(year, 12, 31);
         return getAnalytics(userId, startDate, endDate);
     }
-}
 
+    @PreDestroy
+    void shutdown() {
+        sectionExecutor.shutdownNow();
+    }
+
+    private static <T> T await(Future<T> future, long deadline) {
+        try {
+            return future.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceUnavailableException("Analytics request timed out");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Analytics request interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -6,16 +6,20 @@ import ExpenseFlow.dto.RegisterRequest;
 import ExpenseFlow.entity.User;
 import ExpenseFlow.repository.UserRepository;
 import ExpenseFlow.config.jwt.JwtUtils;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
+@Timed(value = "expenseflow.service", extraTags = {"service", "auth"})
 @Transactional
 public class AuthService {
 
@@ -31,7 +35,14 @@ public class AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;
 
-    public AuthResponse register(RegisterRequest request) {
+    @Autowired
+    private LoginThrottle loginThrottle;
+
+    // Not transactional: waiting for a password hash must not pin a pooled connection
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthResponse register(RegisterRequest request, String clientAddress) {
+        loginThrottle.checkAttempt(clientAddress, null);
+
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new RuntimeException("Username is already taken!");
         }
@@ -50,7 +61,7 @@ public class AuthService {
 
         User savedUser = userRepository.save(user);
 
-        String token = jwtUtils.generateToken(savedUser.getUsername());
+        String token = jwtUtils.generateToken(savedUser);
 
         AuthResponse response = new AuthResponse();
         response.setToken(token);
@@ -62,17 +73,27 @@ public class AuthService {
         return response;
     }
 
-    public AuthResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public AuthResponse login(LoginRequest request, String clientAddress) {
+        loginThrottle.checkAttempt(clientAddress, request.getUsername());
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
+            );
+        } catch (BadCredentialsException e) {
+            loginThrottle.recordFailure(clientAddress, request.getUsername());
+            throw e;
+        }
+        loginThrottle.recordSuccess(clientAddress, request.getUsername());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         User user = userRepository.findByUsername(request.getUsername())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        String token = jwtUtils.generateToken(user.getUsername());
+        String token = jwtUtils.generateToken(user);
 
         AuthResponse response = new AuthResponse();
         response.setToken(token);
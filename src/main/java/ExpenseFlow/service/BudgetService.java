@@ -7,18 +7,19 @@ import ExpenseFlow.entity.Category;
 import ExpenseFlow.entity.User;
 import ExpenseFlow.repository.BudgetRepository;
 import ExpenseFlow.repository.CategoryRepository;
-import ExpenseFlow.repository.ExpenseRepository;
 import ExpenseFlow.repository.UserRepository;
+import ExpenseFlow.util.Money;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "expenseflow.service", extraTags = {"service", "budget"})
 @Transactional
 public class BudgetService {
 
@@ -32,7 +33,13 @@ public class BudgetService {
     private CategoryRepository categoryRepository;
 
     @Autowired
-    private ExpenseRepository expenseRepository;
+    private BudgetSpentService budgetSpentService;
+
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private DataVersionService dataVersions;
 
     public BudgetResponse createBudget(Long userId, BudgetRequest request) {
         User user = userRepository.findById(userId)
@@ -54,6 +61,9 @@ public class BudgetService {
         }
 
         Budget savedBudget = budgetRepository.save(budget);
+        budgetSpentService.recompute(savedBudget);
+        analyticsCache.invalidate(userId, savedBudget.getStartDate(), savedBudget.getEndDate());
+        dataVersions.bump(userId);
         return mapToResponse(savedBudget);
     }
 
@@ -64,14 +74,14 @@ public class BudgetService {
     }
 
     public List<BudgetResponse> getAllBudgets(Long userId) {
-        return budgetRepository.findByUserId(userId)
+        return budgetRepository.findByUserIdWithCategory(userId)
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
     }
 
     public List<BudgetResponse> getActiveBudgets(Long userId) {
-        return budgetRepository.findActiveBudgetsByUserAndDate(userId, LocalDate.now())
+        return budgetRepository.findActiveBudgetsByUserAndDateWithCategory(userId, LocalDate.now())
                 .stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -81,6 +91,8 @@ public class BudgetService {
         Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
                 .orElseThrow(() -> new RuntimeException("Budget not found"));
 
+        analyticsCache.invalidate(userId, budget.getStartDate(), budget.getEndDate());
+
         budget.setName(request.getName());
         budget.setDescription(request.getDescription());
         budget.setTotalAmount(request.getTotalAmount());
@@ -97,12 +109,17 @@ public class BudgetService {
         }
 
         Budget updatedBudget = budgetRepository.save(budget);
+        budgetSpentService.recompute(updatedBudget);
+        analyticsCache.invalidate(userId, updatedBudget.getStartDate(), updatedBudget.getEndDate());
+        dataVersions.bump(userId);
         return mapToResponse(updatedBudget);
     }
 
     public void deleteBudget(Long userId, Long budgetId) {
         Budget budget = budgetRepository.findByIdAndUserId(budgetId, userId)
                 .orElseThrow(() -> new RuntimeException("Budget not found"));
+        analyticsCache.invalidate(userId, budget.getStartDate(), budget.getEndDate());
+        dataVersions.bump(userId);
         budgetRepository.delete(budget);
     }
 
@@ -121,37 +138,14 @@ public class BudgetService {
             response.setCategoryId(budget.getCategory().getId());
         }
 
-        // Calculate spent amount
-        BigDecimal spentAmount = BigDecimal.ZERO;
-        if (budget.getCategory() != null) {
-            spentAmount = expenseRepository.getTotalExpensesByUserCategoryAndDateRange(
-                    budget.getUser().getId(),
-                    budget.getCategory().getId(),
-                    budget.getStartDate(),
-                    budget.getEndDate()
-            );
-        } else {
-            spentAmount = expenseRepository.getTotalExpensesByUserAndDateRange(
-                    budget.getUser().getId(),
-                    budget.getStartDate(),
-                    budget.getEndDate()
-            );
-        }
-
-        if (spentAmount == null) {
-            spentAmount = BigDecimal.ZERO;
-        }
-
-        response.setSpentAmount(spentAmount);
-        response.setRemainingAmount(budget.getTotalAmount().subtract(spentAmount));
+        // Maintained incrementally by BudgetSpentService, no aggregate query per read
+        long spentCents = Money.toCents(budget.getSpentAmount());
+        long totalCents = Money.toCents(budget.getTotalAmount());
+        response.setSpentAmount(Money.toBigDecimal(spentCents));
+        response.setRemainingAmount(Money.toBigDecimal(totalCents - spentCents));
 
         // Calculate percentage used
-        if (budget.getTotalAmount().compareTo(BigDecimal.ZERO) > 0) {
-            double percentage = (spentAmount.doubleValue() / budget.getTotalAmount().doubleValue()) * 100;
-            response.setPercentageUsed(percentage);
-        } else {
-            response.setPercentageUsed(0.0);
-        }
+        response.setPercentageUsed(Money.percentage(spentCents, totalCents));
 
         response.setCreatedAt(budget.getCreatedAt());
         response.setUpdatedAt(budget.getUpdatedAt());
@@ -0,0 +1,104 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.entity.Budget;
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.repository.BudgetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintains Budget.spentAmount for every budget overlapping an expense write,
+ * both category budgets and overall (category == null) budgets.
+ * Changes are applied as atomic "spent = spent + delta" statements, so concurrent
+ * writes of the same user never lose an update.
+ */
+@Service
+@Transactional
+public class BudgetSpentService {
+
+    private static final Logger log = LoggerFactory.getLogger(BudgetSpentService.class);
+
+    @Autowired
+    private BudgetRepository budgetRepository;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    public void recordAdded(Expense expense) {
+        apply(ExpenseRollupService.Bucket.of(expense), expense.getAmount());
+    }
+
+    // One UPDATE per (date, category) of the batch, budgets do not depend on the payment method
+    public void recordAddedAll(Collection<Expense> expenses) {
+        Map<CategoryDay, BigDecimal> amounts = new HashMap<>();
+        for (Expense expense : expenses) {
+            CategoryDay day = new CategoryDay(expense.getUser().getId(), expense.getCategory().getId(),
+                    expense.getExpenseDate());
+            amounts.merge(day, expense.getAmount(), BigDecimal::add);
+        }
+        amounts.forEach((day, amount) ->
+                budgetRepository.addToSpentAmount(day.userId(), day.categoryId(), day.expenseDate(), amount));
+    }
+
+    public void recordRemoved(Expense expense) {
+        apply(ExpenseRollupService.Bucket.of(expense), expense.getAmount().negate());
+    }
+
+    public void recordUpdated(ExpenseRollupService.Bucket before, BigDecimal amountBefore, Expense after) {
+        apply(before, amountBefore.negate());
+        apply(ExpenseRollupService.Bucket.of(after), after.getAmount());
+    }
+
+    /**
+     * Recomputes the running total of a budget whose period or category has just been set.
+     */
+    public void recompute(Budget budget) {
+        budgetRepository.recomputeSpentAmount(budget.getId());
+        budget.setSpentAmount(budgetRepository.findSpentAmountById(budget.getId()));
+    }
+
+    public int reconcileUser(Long userId) {
+        int drifted = budgetRepository.reconcileSpentAmountsForUser(userId);
+        if (drifted > 0) {
+            dataVersions.bump(userId);
+        }
+        return drifted;
+    }
+
+    @Scheduled(cron = "${budgets.reconcile.cron:0 30 3 * * *}")
+    public int reconcileAll() {
+        int drifted = budgetRepository.reconcileSpentAmounts();
+        if (drifted > 0) {
+            dataVersions.bumpAll();
+            log.warn("Corrected spent amount drift on {} budgets", drifted);
+        }
+        return drifted;
+    }
+
+    // Runs after the rollup has been built, fills spent amounts of pre-existing budgets
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(2)
+    public void reconcileOnStartup() {
+        reconcileAll();
+    }
+
+    private void apply(ExpenseRollupService.Bucket bucket, BigDecimal delta) {
+        budgetRepository.addToSpentAmount(bucket.userId(), bucket.categoryId(), bucket.expenseDate(), delta);
+    }
+
+    private record CategoryDay(Long userId, Long categoryId, LocalDate expenseDate) {
+    }
+}
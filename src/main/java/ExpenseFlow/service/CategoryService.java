@@ -23,6 +23,24 @@ public class CategoryService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ExpenseRollupService rollupService;
+
+    @Autowired
+    private ExpenseSearchService searchService;
+
+    @Autowired
+    private ExpenseColumnStore columnStore;
+
+    @Autowired
+    private BudgetSpentService budgetSpentService;
+
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
     public CategoryResponse createCategory(Long userId, CategoryRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -35,6 +53,7 @@ public class CategoryService {
         category.setUser(user);
 
         Category savedCategory = categoryRepository.save(category);
+        dataVersions.bump(userId);
         return mapToResponse(savedCategory);
     }
 
@@ -61,13 +80,24 @@ public class CategoryService {
         category.setColor(request.getColor());
 
         Category updatedCategory = categoryRepository.save(category);
+        // Category names are part of cached analytics
+        analyticsCache.invalidateUser(userId);
+        dataVersions.bump(userId);
         return mapToResponse(updatedCategory);
     }
 
     public void deleteCategory(Long userId, Long categoryId) {
         Category category = categoryRepository.findByIdAndUserId(categoryId, userId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
+        // Expenses of the category are removed by cascade, drop their rollup buckets and search terms too
+        rollupService.removeCategory(categoryId);
+        searchService.removeCategory(categoryId);
         categoryRepository.delete(category);
+        // Overall budgets of the user lose the spending of the removed expenses
+        budgetSpentService.reconcileUser(userId);
+        analyticsCache.invalidateUser(userId);
+        columnStore.evictUser(userId);
+        dataVersions.bump(userId);
     }
 
     private CategoryResponse mapToResponse(Category category) {
@@ -0,0 +1,87 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user data version used as the ETag of list and analytics responses.
+ * Every write to a user's expenses, categories or budgets bumps the version after commit,
+ * so a matching If-None-Match can be answered with 304 without touching the database.
+ * Versions live in memory; the startup time is part of the tag, so tags handed out
+ * before a restart never match again.
+ * Each version is a fresh value of a shared clock, so a version evicted while idle is
+ * replaced by one no earlier tag can match, costing that user a single full response.
+ */
+@Component
+public class DataVersionService {
+
+    // Clients must revalidate, but may keep the body for a 304
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    // Bumped by writes that touch every user, e.g. a full rollup rebuild
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<Long, Version> versions = new ConcurrentHashMap<>();
+    private final long idleNanos;
+
+    public DataVersionService(@Value("${data-version.idle-eviction-ms:600000}") long idleMillis) {
+        this.idleNanos = idleMillis * 1_000_000L;
+    }
+
+    public String etag(Long userId) {
+        return "\"" + epoch + "-" + globalVersion.get() + "-" + version(userId) + "\"";
+    }
+
+    /**
+     * ETag of a response that also depends on the current date, such as active budgets.
+     */
+    public String etag(Long userId, LocalDate today) {
+        return "\"" + epoch + "-" + globalVersion.get() + "-" + version(userId) + "-" + today.toEpochDay() + "\"";
+    }
+
+    public void bump(Long userId) {
+        TransactionUtils.afterCommit(() -> versions.put(userId, new Version(clock.incrementAndGet())));
+    }
+
+    public void bumpAll() {
+        TransactionUtils.afterCommit(globalVersion::incrementAndGet);
+    }
+
+    // Removes only the version it saw idle, one bumped meanwhile stays
+    @Scheduled(fixedDelayString = "${data-version.idle-eviction-ms:600000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Map.Entry<Long, Version> entry : versions.entrySet()) {
+            Version version = entry.getValue();
+            if (now - version.lastUsed > idleNanos) {
+                versions.remove(entry.getKey(), version);
+            }
+        }
+    }
+
+    private long version(Long userId) {
+        Version version = versions.computeIfAbsent(userId, id -> new Version(clock.incrementAndGet()));
+        version.lastUsed = System.nanoTime();
+        return version.value;
+    }
+
+    private static final class Version {
+        private final long value;
+        private volatile long lastUsed = System.nanoTime();
+
+        private Version(long value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,406 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.config.ExpenseSequenceInitializer;
+import ExpenseFlow.entity.Budget;
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Generates a large synthetic dataset for capacity testing, written straight through JDBC
+ * with multi-row INSERT statements, one transaction per slice of users, slices in parallel.
+ * Every user draws from its own random stream derived from the seed, and user, category and
+ * expense ids are assigned from precomputed ranges, so the same settings on the same starting
+ * database always produce the same rows regardless of thread scheduling.
+ * Meant to run on an otherwise idle database (see DatasetGenerationRunner).
+ */
+@Service
+public class DatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final String[] USER_COLUMNS =
+            {"id", "username", "email", "password", "first_name", "last_name", "role", "created_at", "updated_at"};
+    private static final String[] CATEGORY_COLUMNS =
+            {"id", "name", "description", "icon", "color", "user_id", "created_at"};
+    private static final String[] EXPENSE_COLUMNS =
+            {"id", "title", "description", "amount", "expense_date", "category_id", "user_id",
+                    "payment_method", "created_at", "updated_at"};
+    private static final String[] BUDGET_COLUMNS =
+            {"name", "description", "total_amount", "spent_amount", "start_date", "end_date", "category_id",
+                    "user_id", "budget_type", "created_at", "updated_at"};
+
+    // Spending by month (January first) and by day of week (Monday first)
+    private static final double[] MONTH_WEIGHTS = {0.90, 0.85, 0.95, 1.00, 1.00, 1.05, 1.10, 1.05, 0.95, 1.05, 1.20, 1.40};
+    private static final double[] DAY_OF_WEEK_WEIGHTS = {0.90, 0.90, 0.95, 1.00, 1.15, 1.35, 1.20};
+    private static final double MAX_DATE_WEIGHT = 1.40 * 1.35;
+
+    // Indexed by PaymentMethod ordinal: CASH, CREDIT_CARD, DEBIT_CARD, UPI, BANK_TRANSFER, OTHER
+    private static final int[] CARD_AND_UPI_MIX = {12, 28, 20, 32, 5, 3};
+    private static final int[] BILL_MIX = {0, 10, 10, 20, 60, 0};
+    private static final int[] TRAVEL_MIX = {5, 65, 15, 10, 5, 0};
+
+    private static final Expense.PaymentMethod[] PAYMENT_METHODS = Expense.PaymentMethod.values();
+
+    /**
+     * Category catalogue: relative frequency, median amount and spread of a log-normal amount.
+     * Rent is not drawn at random, it is paid once a month.
+     */
+    private enum CategoryProfile {
+        FOOD("Food", "#FF7043", 30, 15.0, 0.6, CARD_AND_UPI_MIX, "Lunch", "Dinner", "Coffee", "Breakfast", "Takeaway"),
+        GROCERIES("Groceries", "#66BB6A", 18, 45.0, 0.5, CARD_AND_UPI_MIX, "Supermarket", "Vegetables", "Weekly groceries"),
+        TRANSPORT("Transport", "#42A5F5", 14, 8.0, 0.7, CARD_AND_UPI_MIX, "Uber ride", "Metro card", "Fuel", "Parking"),
+        SHOPPING("Shopping", "#AB47BC", 9, 40.0, 1.0, CARD_AND_UPI_MIX, "Clothes", "Electronics", "Online order"),
+        ENTERTAINMENT("Entertainment", "#FFCA28", 7, 25.0, 0.8, CARD_AND_UPI_MIX, "Movie", "Concert", "Streaming"),
+        UTILITIES("Utilities", "#8D6E63", 4, 60.0, 0.4, BILL_MIX, "Electricity bill", "Water bill", "Internet", "Phone bill"),
+        HEALTH("Health", "#EF5350", 4, 35.0, 0.9, CARD_AND_UPI_MIX, "Pharmacy", "Doctor visit", "Gym"),
+        TRAVEL("Travel", "#26C6DA", 3, 150.0, 1.0, TRAVEL_MIX, "Flight", "Hotel", "Train ticket"),
+        EDUCATION("Education", "#5C6BC0", 2, 80.0, 0.8, CARD_AND_UPI_MIX, "Books", "Online course"),
+        GIFTS("Gifts", "#EC407A", 2, 40.0, 0.8, CARD_AND_UPI_MIX, "Birthday gift", "Flowers"),
+        INSURANCE("Insurance", "#78909C", 1, 120.0, 0.3, BILL_MIX, "Health insurance", "Car insurance"),
+        OTHER("Other", "#BDBDBD", 2, 20.0, 1.0, CARD_AND_UPI_MIX, "Miscellaneous"),
+        RENT("Rent", "#795548", 0, 0.0, 0.0, BILL_MIX, "Rent");
+
+        private final String displayName;
+        private final String color;
+        private final int frequency;
+        private final double medianAmount;
+        private final double sigma;
+        private final int[] paymentMix;
+        private final String[] titles;
+
+        CategoryProfile(String displayName, String color, int frequency, double medianAmount, double sigma,
+                        int[] paymentMix, String... titles) {
+            this.displayName = displayName;
+            this.color = color;
+            this.frequency = frequency;
+            this.medianAmount = medianAmount;
+            this.sigma = sigma;
+            this.paymentMix = paymentMix;
+            this.titles = titles;
+        }
+    }
+
+    private static final CategoryProfile[] PROFILES = CategoryProfile.values();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ExpenseSequenceInitializer expenseSequenceInitializer;
+
+    @Autowired
+    private ExpenseRollupService rollupService;
+
+    @Autowired
+    private ExpenseSearchService searchService;
+
+    @Autowired
+    private ExpenseColumnStore columnStore;
+
+    @Autowired
+    private BudgetSpentService budgetSpentService;
+
+    @Value("${dataset.users:1000}")
+    private int users;
+
+    @Value("${dataset.expenses-per-user:1000}")
+    private int expensesPerUser;
+
+    @Value("${dataset.budgets-per-user:6}")
+    private int budgetsPerUser;
+
+    @Value("${dataset.years:3}")
+    private int years;
+
+    @Value("${dataset.end-date:2025-12-31}")
+    private LocalDate endDate;
+
+    @Value("${dataset.seed:42}")
+    private long seed;
+
+    // 0 = one per available processor
+    @Value("${dataset.threads:0}")
+    private int threads;
+
+    @Value("${dataset.users-per-transaction:50}")
+    private int usersPerTransaction;
+
+    @Value("${dataset.rows-per-insert:1000}")
+    private int rowsPerInsert;
+
+    @Value("${dataset.username-prefix:gen}")
+    private String usernamePrefix;
+
+    @Value("${dataset.password:password123}")
+    private String password;
+
+    public record Result(int users, long categories, long expenses, long budgets, long elapsedMillis) {
+    }
+
+    public Result generate() throws SQLException, InterruptedException {
+        long started = System.nanoTime();
+        LocalDate startDate = endDate.minusYears(years).plusDays(1);
+
+        // Expense counts are skewed per user: a few heavy users, many light ones, mean expensesPerUser
+        SplittableRandom countRandom = new SplittableRandom(seed);
+        int[] expenseCounts = new int[users];
+        for (int i = 0; i < users; i++) {
+            expenseCounts[i] = (int) Math.max(1, Math.round(expensesPerUser * logNormal(countRandom, -0.18, 0.6)));
+        }
+
+        // User i gets id firstUserId + i and its categories the PROFILES.length ids from
+        // firstCategoryId + i * PROFILES.length, in profile order
+        long firstUserId = nextId("users");
+        long firstCategoryId = nextId("categories");
+        long nextExpenseId = nextId("expenses");
+        String passwordHash = passwordEncoder.encode(password);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        log.info("Generating {} users with ~{} expenses each from {} to {} on {} threads (seed {})",
+                users, expensesPerUser, startDate, endDate, poolSize, seed);
+
+        long categories = 0;
+        long expenses = 0;
+        long budgets = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        try {
+            List<Future<long[]>> slices = new ArrayList<>();
+            for (int from = 0; from < users; from += usersPerTransaction) {
+                int sliceFrom = from;
+                int sliceTo = Math.min(users, from + usersPerTransaction);
+                long firstExpenseId = nextExpenseId;
+                for (int i = sliceFrom; i < sliceTo; i++) {
+                    nextExpenseId += expenseCounts[i];
+                }
+                slices.add(executor.submit(() -> transactionTemplate.execute(status ->
+                        generateSlice(sliceFrom, sliceTo, firstUserId, firstCategoryId, firstExpenseId,
+                                expenseCounts, passwordHash, startDate))));
+            }
+            for (Future<long[]> slice : slices) {
+                long[] written = slice.get();
+                categories += written[0];
+                expenses += written[1];
+                budgets += written[2];
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Dataset generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Rows were written around the services, bring ids and derived tables in step
+        expenseSequenceInitializer.restartAfterExistingIds();
+        rollupService.rebuildAll();
+        budgetSpentService.reconcileAll();
+        searchService.rebuildAll();
+        columnStore.evictAll();
+
+        Result result = new Result(users, categories, expenses, budgets, (System.nanoTime() - started) / 1_000_000);
+        log.info("Generated {}", result);
+        return result;
+    }
+
+    // Writes users [from, to) with their categories, expenses and budgets; returns the row counts
+    private long[] generateSlice(int from, int to, long firstUserId, long firstCategoryId, long firstExpenseId,
+                                 int[] expenseCounts, String passwordHash, LocalDate startDate) {
+        LocalDateTime createdAt = startDate.atStartOfDay();
+
+        List<Object[]> userRows = new ArrayList<>(to - from);
+        List<Object[]> categoryRows = new ArrayList<>((to - from) * PROFILES.length);
+        for (int i = from; i < to; i++) {
+            String username = usernamePrefix + i;
+            long userId = firstUserId + i;
+            userRows.add(new Object[]{userId, username, username + "@example.com", passwordHash, "Generated",
+                    "User " + i, User.Role.USER.name(), createdAt, createdAt});
+            for (CategoryProfile profile : PROFILES) {
+                categoryRows.add(new Object[]{categoryId(firstCategoryId, i, profile), profile.displayName, null, null,
+                        profile.color, userId, createdAt});
+            }
+        }
+        insert("users", USER_COLUMNS, userRows);
+        insert("categories", CATEGORY_COLUMNS, categoryRows);
+
+        long expenseId = firstExpenseId;
+        long expenses = 0;
+        List<Object[]> expenseRows = new ArrayList<>(rowsPerInsert);
+        List<Object[]> budgetRows = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            long userId = firstUserId + i;
+            long userFirstCategoryId = categoryId(firstCategoryId, i, PROFILES[0]);
+            SplittableRandom random = userRandom(i);
+            long[] monthlyCents = new long[12];
+
+            // Personal taste: each user favours some categories over others
+            double[] cumulative = new double[PROFILES.length];
+            double total = 0;
+            for (int c = 0; c < PROFILES.length; c++) {
+                total += PROFILES[c].frequency * logNormal(random, 0, 0.6);
+                cumulative[c] = total;
+            }
+
+            int remaining = expenseCounts[i];
+            long rentCents = 50_000 + random.nextLong(200_000);
+            for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate)) && remaining > 0;
+                 month = month.plusMonths(1)) {
+                LocalDate date = month.atDay(1 + random.nextInt(3));
+                if (date.isBefore(startDate) || date.isAfter(endDate)) {
+                    continue;
+                }
+                expenseRows.add(expenseRow(expenseId++, CategoryProfile.RENT, rentCents, date, userId,
+                        userFirstCategoryId, random));
+                monthlyCents[date.getMonthValue() - 1] += rentCents;
+                remaining--;
+                expenses += flushIfFull(expenseRows);
+            }
+
+            for (; remaining > 0; remaining--) {
+                CategoryProfile profile = pick(cumulative, total, random);
+                long cents = Math.min(99_999_999_99L,
+                        Math.max(50, Math.round(profile.medianAmount * 100 * logNormal(random, 0, profile.sigma))));
+                LocalDate date = seasonalDate(startDate, endDate, random);
+                expenseRows.add(expenseRow(expenseId++, profile, cents, date, userId, userFirstCategoryId, random));
+                monthlyCents[date.getMonthValue() - 1] += cents;
+                expenses += flushIfFull(expenseRows);
+            }
+
+            // Monthly budgets for the last months of the range, sized around the user's typical month
+            long averageMonthCents = Arrays.stream(monthlyCents).sum() / (12L * years);
+            YearMonth budgetMonth = YearMonth.from(endDate);
+            for (int b = 0; b < budgetsPerUser; b++, budgetMonth = budgetMonth.minusMonths(1)) {
+                long budgetCents = Math.max(10_000, Math.round(averageMonthCents * (0.8 + random.nextDouble(0.5))));
+                budgetRows.add(new Object[]{"Monthly budget " + budgetMonth, null, BigDecimal.valueOf(budgetCents, 2),
+                        BigDecimal.ZERO, budgetMonth.atDay(1), budgetMonth.atEndOfMonth(), null, userId,
+                        Budget.BudgetType.MONTHLY.name(), createdAt, createdAt});
+            }
+        }
+        if (!expenseRows.isEmpty()) {
+            expenses += expenseRows.size();
+            insert("expenses", EXPENSE_COLUMNS, expenseRows);
+            expenseRows.clear();
+        }
+        for (int b = 0; b < budgetRows.size(); b += rowsPerInsert) {
+            insert("budgets", BUDGET_COLUMNS, budgetRows.subList(b, Math.min(budgetRows.size(), b + rowsPerInsert)));
+        }
+        return new long[]{categoryRows.size(), expenses, budgetRows.size()};
+    }
+
+    private Object[] expenseRow(long id, CategoryProfile profile, long cents, LocalDate date, long userId,
+                                long userFirstCategoryId, SplittableRandom random) {
+        LocalDateTime createdAt = date.atTime(8 + random.nextInt(15), random.nextInt(60));
+        return new Object[]{id, profile.titles[random.nextInt(profile.titles.length)], null,
+                BigDecimal.valueOf(cents, 2), date, userFirstCategoryId + profile.ordinal(), userId,
+                paymentMethod(profile.paymentMix, random).name(), createdAt, createdAt};
+    }
+
+    private static long categoryId(long firstCategoryId, int userIndex, CategoryProfile profile) {
+        return firstCategoryId + (long) userIndex * PROFILES.length + profile.ordinal();
+    }
+
+    // Explicit ids move AUTO_INCREMENT past them, so later inserts through Hibernate do not collide
+    private long nextId(String table) {
+        return jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class) + 1;
+    }
+
+    private int flushIfFull(List<Object[]> rows) {
+        if (rows.size() < rowsPerInsert) {
+            return 0;
+        }
+        int written = rows.size();
+        insert("expenses", EXPENSE_COLUMNS, rows);
+        rows.clear();
+        return written;
+    }
+
+    // One multi-row INSERT; with rewriteBatchedStatements MySQL receives it as a single statement either way
+    private void insert(String table, String[] columns, List<Object[]> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        String row = "(" + placeholders(columns.length) + ")";
+        StringBuilder sql = new StringBuilder(32 + rows.size() * (row.length() + 1))
+                .append("INSERT INTO ").append(table).append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        Object[] args = new Object[rows.size() * columns.length];
+        for (int r = 0; r < rows.size(); r++) {
+            sql.append(r == 0 ? "" : ",").append(row);
+            System.arraycopy(rows.get(r), 0, args, r * columns.length, columns.length);
+        }
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    private SplittableRandom userRandom(int userIndex) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + userIndex);
+    }
+
+    // Rejection sampling against the month and weekday weights
+    private static LocalDate seasonalDate(LocalDate startDate, LocalDate endDate, SplittableRandom random) {
+        long days = endDate.toEpochDay() - startDate.toEpochDay() + 1;
+        while (true) {
+            LocalDate date = startDate.plusDays(random.nextLong(days));
+            double weight = MONTH_WEIGHTS[date.getMonthValue() - 1]
+                    * DAY_OF_WEEK_WEIGHTS[date.getDayOfWeek().getValue() - 1];
+            if (random.nextDouble() * MAX_DATE_WEIGHT < weight) {
+                return date;
+            }
+        }
+    }
+
+    private static CategoryProfile pick(double[] cumulative, double total, SplittableRandom random) {
+        double target = random.nextDouble() * total;
+        for (int c = 0; c < cumulative.length; c++) {
+            if (target < cumulative[c]) {
+                return PROFILES[c];
+            }
+        }
+        return CategoryProfile.OTHER;
+    }
+
+    private static Expense.PaymentMethod paymentMethod(int[] mix, SplittableRandom random) {
+        int total = 0;
+        for (int weight : mix) {
+            total += weight;
+        }
+        int target = random.nextInt(total);
+        for (int m = 0; m < mix.length; m++) {
+            target -= mix[m];
+            if (target < 0) {
+                return PAYMENT_METHODS[m];
+            }
+        }
+        return Expense.PaymentMethod.OTHER;
+    }
+
+    private static double logNormal(SplittableRandom random, double mu, double sigma) {
+        return Math.exp(mu + sigma * random.nextGaussian());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
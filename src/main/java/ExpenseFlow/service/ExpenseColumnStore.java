@@ -0,0 +1,387 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.util.Money;
+import ExpenseFlow.util.TransactionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Optional in-memory copy of the expenses analytics needs, one set of primitive column arrays per user:
+ * epoch day, amount in cents, category and payment method, sorted by day so a date range is a
+ * contiguous slice. Users are loaded on their first analytics request and dropped least recently
+ * used first once the approximate memory budget is exceeded.
+ *
+ * Single expense writes are applied to loaded columns after the writing transaction commits,
+ * bulk writes drop the user so the next request reloads it. Only one load per user runs at a
+ * time, concurrent requests for the same user wait for it.
+ */
+@Component
+public class ExpenseColumnStore {
+
+    private static final Expense.PaymentMethod[] PAYMENT_METHODS = Expense.PaymentMethod.values();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${analytics.column-store.enabled:false}")
+    private boolean enabled;
+
+    @Value("${analytics.column-store.max-bytes:67108864}")
+    private long maxBytes;
+
+    // Access ordered, the eldest entry is the least recently used user
+    private final LinkedHashMap<Long, UserColumns> users = new LinkedHashMap<>(16, 0.75f, true);
+
+    // In-flight loads; a write marks the user's load stale, so a load that raced with it is used once but not kept
+    private final Map<Long, Load> loading = new HashMap<>();
+
+    // Users whose expenses alone exceed maxBytes, served from the database until some are removed
+    private final Set<Long> oversized = new HashSet<>();
+
+    private long usedBytes;
+    private long hits;
+    private long loads;
+    private long evictions;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Columns of the user, loaded on first access. Null when the store is disabled or the user's
+     * expenses alone exceed the memory budget; callers then fall back to the database.
+     */
+    public UserColumns columns(Long userId) {
+        if (!enabled) {
+            return null;
+        }
+        Load load;
+        boolean owner = false;
+        synchronized (this) {
+            UserColumns columns = users.get(userId);
+            if (columns != null) {
+                hits++;
+                return columns;
+            }
+            if (oversized.contains(userId)) {
+                return null;
+            }
+            load = loading.get(userId);
+            if (load == null) {
+                load = new Load();
+                loading.put(userId, load);
+                owner = true;
+            }
+        }
+        if (!owner) {
+            // Null when the other load failed or the user is oversized, the caller then uses the database
+            return load.result.join();
+        }
+
+        UserColumns result = null;
+        try {
+            result = install(userId, load, load(userId));
+            return result;
+        } finally {
+            synchronized (this) {
+                loading.remove(userId, load);
+            }
+            load.result.complete(result);
+        }
+    }
+
+    private synchronized UserColumns install(Long userId, Load load, UserColumns loaded) {
+        loads++;
+        if (loaded.bytes() > maxBytes) {
+            if (!load.stale) {
+                oversized.add(userId);
+            }
+            return null;
+        }
+        if (load.stale) {
+            return loaded;
+        }
+        users.put(userId, loaded);
+        usedBytes += loaded.bytes();
+        evictOverBudget();
+        return loaded;
+    }
+
+    // Created or updated expense, must run inside the transaction that writes it
+    public void recordSaved(Expense expense) {
+        if (!enabled) {
+            return;
+        }
+        Long userId = expense.getUser().getId();
+        Long expenseId = expense.getId();
+        int epochDay = (int) expense.getExpenseDate().toEpochDay();
+        long cents = Money.toCents(expense.getAmount());
+        Long categoryId = expense.getCategory().getId();
+        byte method = (byte) expense.getPaymentMethod().ordinal();
+        TransactionUtils.afterCommit(() -> apply(userId,
+                columns -> columns.put(expenseId, epochDay, cents, categoryId, method), false));
+    }
+
+    public void recordRemoved(Expense expense) {
+        if (!enabled) {
+            return;
+        }
+        Long userId = expense.getUser().getId();
+        Long expenseId = expense.getId();
+        TransactionUtils.afterCommit(() -> apply(userId, columns -> columns.remove(expenseId), true));
+    }
+
+    public void evictUser(Long userId) {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> apply(userId, null, true));
+    }
+
+    public void evictAll() {
+        if (!enabled) {
+            return;
+        }
+        TransactionUtils.afterCommit(() -> {
+            synchronized (this) {
+                for (Load load : loading.values()) {
+                    load.stale = true;
+                }
+                loading.clear();
+                oversized.clear();
+                evictions += users.size();
+                users.clear();
+                usedBytes = 0;
+            }
+        });
+    }
+
+    public synchronized Stats stats() {
+        long rows = 0;
+        for (UserColumns columns : users.values()) {
+            rows += columns.size();
+        }
+        return new Stats(enabled, users.size(), oversized.size(), rows, usedBytes, maxBytes, hits, loads, evictions);
+    }
+
+    // A null change drops the user's columns; removes is set when the write may have removed rows
+    private synchronized void apply(Long userId, Consumer<UserColumns> change, boolean removes) {
+        Load load = loading.remove(userId);
+        if (load != null) {
+            load.stale = true;
+        }
+        if (removes) {
+            oversized.remove(userId);
+        }
+        UserColumns columns = users.get(userId);
+        if (columns == null) {
+            return;
+        }
+        usedBytes -= columns.bytes();
+        if (change == null) {
+            users.remove(userId);
+            evictions++;
+            return;
+        }
+        synchronized (columns) {
+            change.accept(columns);
+        }
+        usedBytes += columns.bytes();
+        evictOverBudget();
+    }
+
+    private void evictOverBudget() {
+        Iterator<UserColumns> eldest = users.values().iterator();
+        while (usedBytes > maxBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().bytes();
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private UserColumns load(Long userId) {
+        UserColumns columns = new UserColumns();
+        jdbcTemplate.query("SELECT id, expense_date, amount, category_id, payment_method FROM expenses " +
+                "WHERE user_id = ? ORDER BY expense_date, id", rs -> {
+            columns.append(rs.getLong("id"),
+                    (int) rs.getObject("expense_date", LocalDate.class).toEpochDay(),
+                    Money.toCents(rs.getBigDecimal("amount")),
+                    rs.getLong("category_id"),
+                    (byte) Expense.PaymentMethod.valueOf(rs.getString("payment_method")).ordinal());
+        }, userId);
+        return columns;
+    }
+
+    private static final class Load {
+        private final CompletableFuture<UserColumns> result = new CompletableFuture<>();
+        // Guarded by the store
+        private boolean stale;
+    }
+
+    public record Stats(boolean enabled, int users, int oversizedUsers, long rows, long bytes, long maxBytes,
+                        long hits, long loads, long evictions) {
+    }
+
+    /**
+     * Column arrays of one user, rows ordered by (epoch day, expense id).
+     * Categories are stored as small int codes into {@code categoryIds}.
+     */
+    public static final class UserColumns {
+
+        // id, day, cents, category code and payment method of one row
+        private static final int ROW_BYTES = 8 + 4 + 8 + 4 + 1;
+
+        private long[] ids = new long[16];
+        private int[] days = new int[16];
+        private long[] cents = new long[16];
+        private int[] categories = new int[16];
+        private byte[] methods = new byte[16];
+        private int size;
+
+        private long[] categoryIds = new long[8];
+        private final Map<Long, Integer> categoryCodes = new HashMap<>();
+
+        public synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Folds the rows dated startDate to endDate into the accumulator, one grouped row per
+         * category, month and payment method, the same shape the daily rollup query returns.
+         * Rows of categories missing from categoryNames are skipped.
+         */
+        public synchronized void aggregate(LocalDate startDate, LocalDate endDate, Map<Long, String> categoryNames,
+                                           AnalyticsAccumulator accumulator) {
+            int from = lowerBound((int) startDate.toEpochDay(), Long.MIN_VALUE);
+            int to = lowerBound((int) endDate.toEpochDay() + 1, Long.MIN_VALUE);
+            if (from >= to) {
+                return;
+            }
+            int methodCount = PAYMENT_METHODS.length;
+            long[] groupCents = new long[categoryIds.length * methodCount];
+            long[] groupCounts = new long[groupCents.length];
+
+            // Rows are in day order, so each month is a run that is flushed when the next one starts
+            LocalDate month = LocalDate.ofEpochDay(days[from]).withDayOfMonth(1);
+            long nextMonthDay = month.plusMonths(1).toEpochDay();
+            for (int i = from; i < to; i++) {
+                if (days[i] >= nextMonthDay) {
+                    flush(month, groupCents, groupCounts, categoryNames, accumulator);
+                    month = LocalDate.ofEpochDay(days[i]).withDayOfMonth(1);
+                    nextMonthDay = month.plusMonths(1).toEpochDay();
+                }
+                int group = categories[i] * methodCount + methods[i];
+                groupCents[group] += cents[i];
+                groupCounts[group]++;
+            }
+            flush(month, groupCents, groupCounts, categoryNames, accumulator);
+        }
+
+        private void flush(LocalDate month, long[] groupCents, long[] groupCounts, Map<Long, String> categoryNames,
+                           AnalyticsAccumulator accumulator) {
+            int methodCount = PAYMENT_METHODS.length;
+            for (int group = 0; group < groupCounts.length; group++) {
+                if (groupCounts[group] == 0) {
+                    continue;
+                }
+                String categoryName = categoryNames.get(categoryIds[group / methodCount]);
+                if (categoryName != null) {
+                    accumulator.add(categoryName, month.getYear(), month.getMonthValue(),
+                            PAYMENT_METHODS[group % methodCount], groupCents[group], groupCounts[group]);
+                }
+                groupCents[group] = 0;
+                groupCounts[group] = 0;
+            }
+        }
+
+        // Approximate heap footprint of the arrays
+        long bytes() {
+            return (long) ids.length * ROW_BYTES + categoryIds.length * 8L;
+        }
+
+        // Rows arrive in (day, id) order while loading
+        void append(long id, int day, long amountCents, long categoryId, byte method) {
+            insertAt(size, id, day, amountCents, categoryId, method);
+        }
+
+        // Insert or replace, so applying the same write twice is harmless
+        void put(long id, int day, long amountCents, long categoryId, byte method) {
+            remove(id);
+            insertAt(lowerBound(day, id), id, day, amountCents, categoryId, method);
+        }
+
+        void remove(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    int tail = size - i - 1;
+                    System.arraycopy(ids, i + 1, ids, i, tail);
+                    System.arraycopy(days, i + 1, days, i, tail);
+                    System.arraycopy(cents, i + 1, cents, i, tail);
+                    System.arraycopy(categories, i + 1, categories, i, tail);
+                    System.arraycopy(methods, i + 1, methods, i, tail);
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        private void insertAt(int index, long id, int day, long amountCents, long categoryId, byte method) {
+            if (size == ids.length) {
+                int capacity = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                days = Arrays.copyOf(days, capacity);
+                cents = Arrays.copyOf(cents, capacity);
+                categories = Arrays.copyOf(categories, capacity);
+                methods = Arrays.copyOf(methods, capacity);
+            }
+            int tail = size - index;
+            System.arraycopy(ids, index, ids, index + 1, tail);
+            System.arraycopy(days, index, days, index + 1, tail);
+            System.arraycopy(cents, index, cents, index + 1, tail);
+            System.arraycopy(categories, index, categories, index + 1, tail);
+            System.arraycopy(methods, index, methods, index + 1, tail);
+            ids[index] = id;
+            days[index] = day;
+            cents[index] = amountCents;
+            categories[index] = categoryCode(categoryId);
+            methods[index] = method;
+            size++;
+        }
+
+        private int categoryCode(long categoryId) {
+            Integer code = categoryCodes.get(categoryId);
+            if (code == null) {
+                code = categoryCodes.size();
+                if (code == categoryIds.length) {
+                    categoryIds = Arrays.copyOf(categoryIds, code * 2);
+                }
+                categoryIds[code] = categoryId;
+                categoryCodes.put(categoryId, code);
+            }
+            return code;
+        }
+
+        // First row ordered at or after (day, id)
+        private int lowerBound(int day, long id) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (days[mid] < day || (days[mid] == day && ids[mid] < id)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.repository.CategoryRepository;
+import ExpenseFlow.repository.ExpenseRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a user's expenses straight from a database cursor to an output stream.
+ * Rows are never collected into a list: entities are detached every {@code expenses.export.clear-every}
+ * rows, so memory stays flat no matter how long the history is.
+ */
+@Service
+public class ExpenseExportService {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String CSV_HEADER = "id,expenseDate,title,description,categoryId,category,paymentMethod,amount,createdAt";
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${expenses.export.clear-every:500}")
+    private int clearEvery;
+
+    // Integer.MIN_VALUE makes MySQL Connector/J stream the result set row by row,
+    // any other value makes it read every row into memory first
+    @Value("${expenses.export.fetch-size:" + Integer.MIN_VALUE + "}")
+    private int fetchSize;
+
+    public enum Format {
+        CSV("csv", new MediaType("text", "csv", StandardCharsets.UTF_8)),
+        NDJSON("ndjson", new MediaType("application", "x-ndjson", StandardCharsets.UTF_8));
+
+        private final String extension;
+        private final MediaType mediaType;
+
+        Format(String extension, MediaType mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new RuntimeException("Unsupported export format: " + value);
+        }
+    }
+
+    // Runs on the request thread so a bad category fails with 404 before streaming starts
+    @Transactional(readOnly = true)
+    public void checkCategory(Long userId, Long categoryId) {
+        if (categoryId != null && categoryRepository.findByIdAndUserId(categoryId, userId).isEmpty()) {
+            throw new RuntimeException("Category not found");
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void export(Long userId, Format format, LocalDate startDate, LocalDate endDate, Long categoryId,
+                       OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        JsonGenerator json = format == Format.NDJSON ? JSON_FACTORY.createGenerator(writer) : null;
+        if (json != null) {
+            json.setRootValueSeparator(null);
+        } else {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<Expense> expenses = entityManager.createQuery(ExpenseRepository.EXPORT, Expense.class)
+                .setParameter("userId", userId)
+                .setParameter("categoryId", categoryId)
+                .setParameter("startDate", startDate)
+                .setParameter("endDate", endDate)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<Expense> iterator = expenses.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                Expense expense = iterator.next();
+                if (json != null) {
+                    writeJson(json, expense);
+                    json.writeRaw('\n');
+                } else {
+                    writeCsv(writer, expense);
+                }
+                if (++written % clearEvery == 0) {
+                    entityManager.clear();
+                    flush(json, writer);
+                }
+            }
+        }
+        flush(json, writer);
+    }
+
+    private void flush(JsonGenerator json, Writer writer) throws IOException {
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+    }
+
+    private void writeCsv(Writer writer, Expense expense) throws IOException {
+        writer.write(String.valueOf(expense.getId()));
+        writer.write(',');
+        writer.write(expense.getExpenseDate().toString());
+        writer.write(',');
+        writeCsvText(writer, expense.getTitle());
+        writer.write(',');
+        writeCsvText(writer, expense.getDescription());
+        writer.write(',');
+        writer.write(String.valueOf(expense.getCategory().getId()));
+        writer.write(',');
+        writeCsvText(writer, expense.getCategory().getName());
+        writer.write(',');
+        writer.write(expense.getPaymentMethod().name());
+        writer.write(',');
+        writer.write(expense.getAmount().toPlainString());
+        writer.write(',');
+        writer.write(String.valueOf(expense.getCreatedAt()));
+        writer.write('\n');
+    }
+
+    // RFC 4180 quoting, only when the value needs it
+    private void writeCsvText(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private void writeJson(JsonGenerator json, Expense expense) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", expense.getId());
+        json.writeStringField("expenseDate", expense.getExpenseDate().toString());
+        json.writeStringField("title", expense.getTitle());
+        json.writeStringField("description", expense.getDescription());
+        json.writeNumberField("categoryId", expense.getCategory().getId());
+        json.writeStringField("categoryName", expense.getCategory().getName());
+        json.writeStringField("paymentMethod", expense.getPaymentMethod().name());
+        json.writeNumberField("amount", expense.getAmount());
+        json.writeStringField("createdAt", String.valueOf(expense.getCreatedAt()));
+        json.writeEndObject();
+    }
+}
@@ -0,0 +1,268 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.dto.ExpenseImportResponse;
+import ExpenseFlow.dto.ExpenseRequest;
+import ExpenseFlow.entity.Category;
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.entity.User;
+import ExpenseFlow.repository.CategoryRepository;
+import ExpenseFlow.repository.ExpenseRepository;
+import ExpenseFlow.repository.UserRepository;
+import ExpenseFlow.util.CsvReader;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Imports many expenses in one transaction. Users and categories are loaded once per import,
+ * rows are inserted with JDBC batching and the rollup and budget totals are adjusted once
+ * per touched bucket. Invalid rows are reported and skipped, they never abort the import.
+ */
+@Service
+@Transactional
+public class ExpenseImportService {
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ExpenseRollupService rollupService;
+
+    @Autowired
+    private ExpenseSearchService searchService;
+
+    @Autowired
+    private ExpenseColumnStore columnStore;
+
+    @Autowired
+    private BudgetSpentService budgetSpentService;
+
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    @Autowired
+    private Validator validator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${expenses.import.max-rows:10000}")
+    private int maxRows;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    public ExpenseImportResponse importExpenses(Long userId, List<ExpenseRequest> requests) {
+        List<ImportRow> rows = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            rows.add(new ImportRow(i + 1, requests.get(i), null, null));
+        }
+        return importRows(userId, rows);
+    }
+
+    /**
+     * Reads a CSV file with a header row. Recognised columns: title, description, amount,
+     * expenseDate (yyyy-MM-dd), categoryId or category (name) and paymentMethod.
+     */
+    public ExpenseImportResponse importCsv(Long userId, InputStream inputStream) throws IOException {
+        Reader reader = new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new RuntimeException("CSV file is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().replace("\uFEFF", ""), i);
+        }
+        if (!columns.containsKey("categoryId") && !columns.containsKey("category")) {
+            throw new RuntimeException("CSV header must contain a categoryId or category column");
+        }
+
+        List<ImportRow> rows = new ArrayList<>();
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            checkRowLimit(rows.size() + 1);
+            rows.add(parseCsvRow(rows.size() + 1, fields, columns));
+        }
+        return importRows(userId, rows);
+    }
+
+    private ExpenseImportResponse importRows(Long userId, List<ImportRow> rows) {
+        checkRowLimit(rows.size());
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        User user = userRepository.getReferenceById(userId);
+
+        List<Category> categories = categoryRepository.findByUserId(userId);
+        Map<Long, Category> categoriesById = new HashMap<>();
+        Map<String, Category> categoriesByName = new HashMap<>();
+        for (Category category : categories) {
+            categoriesById.put(category.getId(), category);
+            categoriesByName.putIfAbsent(category.getName().toLowerCase(), category);
+        }
+
+        List<ExpenseImportResponse.RowError> errors = new ArrayList<>();
+        List<Expense> expenses = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            String error = row.parseError();
+            Expense expense = null;
+            if (error == null) {
+                ExpenseRequest request = row.request();
+                if (request.getCategoryId() == null && row.categoryName() != null) {
+                    Category byName = categoriesByName.get(row.categoryName().toLowerCase());
+                    if (byName != null) {
+                        request.setCategoryId(byName.getId());
+                    } else {
+                        error = "Category not found: " + row.categoryName();
+                    }
+                }
+                if (error == null) {
+                    error = validate(request, categoriesById);
+                }
+                if (error == null) {
+                    expense = toExpense(request, user, categoriesById.get(request.getCategoryId()));
+                }
+            }
+            if (error != null) {
+                errors.add(new ExpenseImportResponse.RowError(row.rowNumber(), error));
+            } else {
+                expenses.add(expense);
+            }
+        }
+
+        // Chunks of batch_size become one multi-row INSERT each, clearing keeps the session small
+        for (int from = 0; from < expenses.size(); from += batchSize) {
+            expenseRepository.saveAll(expenses.subList(from, Math.min(from + batchSize, expenses.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+
+        if (!expenses.isEmpty()) {
+            rollupService.recordAddedAll(expenses);
+            budgetSpentService.recordAddedAll(expenses);
+            searchService.indexAll(expenses);
+            LocalDate first = expenses.stream().map(Expense::getExpenseDate).min(Comparator.naturalOrder()).get();
+            LocalDate last = expenses.stream().map(Expense::getExpenseDate).max(Comparator.naturalOrder()).get();
+            analyticsCache.invalidate(userId, first, last);
+            columnStore.evictUser(userId);
+            dataVersions.bump(userId);
+        }
+
+        return new ExpenseImportResponse(rows.size(), expenses.size(), errors.size(), errors);
+    }
+
+    private String validate(ExpenseRequest request, Map<Long, Category> categoriesById) {
+        Set<ConstraintViolation<ExpenseRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (!categoriesById.containsKey(request.getCategoryId())) {
+            return "Category not found";
+        }
+        if (parsePaymentMethod(request.getPaymentMethod()) == null) {
+            return "Invalid payment method: " + request.getPaymentMethod();
+        }
+        return null;
+    }
+
+    private Expense toExpense(ExpenseRequest request, User user, Category category) {
+        Expense expense = new Expense();
+        expense.setTitle(request.getTitle());
+        expense.setDescription(request.getDescription());
+        expense.setAmount(request.getAmount());
+        expense.setExpenseDate(request.getExpenseDate() != null ? request.getExpenseDate() : LocalDate.now());
+        expense.setCategory(category);
+        expense.setUser(user);
+        expense.setPaymentMethod(parsePaymentMethod(request.getPaymentMethod()));
+        return expense;
+    }
+
+    private Expense.PaymentMethod parsePaymentMethod(String value) {
+        if (value == null || value.isBlank()) {
+            return Expense.PaymentMethod.CASH;
+        }
+        try {
+            return Expense.PaymentMethod.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private ImportRow parseCsvRow(int rowNumber, List<String> fields, Map<String, Integer> columns) {
+        ExpenseRequest request = new ExpenseRequest();
+        request.setTitle(field(fields, columns, "title"));
+        request.setDescription(field(fields, columns, "description"));
+        request.setPaymentMethod(field(fields, columns, "paymentMethod"));
+
+        String amount = field(fields, columns, "amount");
+        String date = field(fields, columns, "expenseDate");
+        String categoryId = field(fields, columns, "categoryId");
+        try {
+            request.setAmount(amount != null ? new BigDecimal(amount) : null);
+        } catch (NumberFormatException e) {
+            return new ImportRow(rowNumber, request, null, "Invalid amount: " + amount);
+        }
+        try {
+            request.setExpenseDate(date != null ? LocalDate.parse(date) : null);
+        } catch (DateTimeParseException e) {
+            return new ImportRow(rowNumber, request, null, "Invalid expenseDate: " + date);
+        }
+        try {
+            request.setCategoryId(categoryId != null ? Long.valueOf(categoryId) : null);
+        } catch (NumberFormatException e) {
+            return new ImportRow(rowNumber, request, null, "Invalid categoryId: " + categoryId);
+        }
+        return new ImportRow(rowNumber, request, field(fields, columns, "category"), null);
+    }
+
+    private String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private void checkRowLimit(int rows) {
+        if (rows > maxRows) {
+            throw new RuntimeException("Import is limited to " + maxRows + " rows");
+        }
+    }
+
+    private record ImportRow(int rowNumber, ExpenseRequest request, String categoryName, String parseError) {
+    }
+}
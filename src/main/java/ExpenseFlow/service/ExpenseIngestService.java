@@ -0,0 +1,340 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.dto.ExpenseReceipt;
+import ExpenseFlow.dto.ExpenseRequest;
+import ExpenseFlow.entity.Category;
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.entity.User;
+import ExpenseFlow.exception.ServiceUnavailableException;
+import ExpenseFlow.repository.CategoryRepository;
+import ExpenseFlow.repository.ExpenseRepository;
+import ExpenseFlow.util.BoundedTtlCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Optional write-behind path for expense creation (expenses.ingest.enabled).
+ * A request is validated, answered with a receipt and put on a bounded in-memory queue.
+ * Writer threads drain the queue and insert up to batch-size expenses per transaction,
+ * waiting at most max-delay-ms for a batch to fill, so a burst costs one commit per batch.
+ *
+ * Durability: an accepted expense lives only in memory until its receipt reports PERSISTED.
+ * A graceful shutdown writes what is still queued, a crash or kill loses it.
+ * A full queue is answered with 503 and Retry-After instead of blocking the request thread.
+ */
+@Service
+public class ExpenseIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseIngestService.class);
+
+    public enum Status {
+        QUEUED, PERSISTED, FAILED
+    }
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ExpenseRollupService rollupService;
+
+    @Autowired
+    private ExpenseSearchService searchService;
+
+    @Autowired
+    private ExpenseColumnStore columnStore;
+
+    @Autowired
+    private BudgetSpentService budgetSpentService;
+
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${expenses.ingest.enabled:false}")
+    private boolean enabled;
+
+    @Value("${expenses.ingest.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${expenses.ingest.batch-size:200}")
+    private int batchSize;
+
+    @Value("${expenses.ingest.max-delay-ms:20}")
+    private long maxDelayMillis;
+
+    @Value("${expenses.ingest.writers:1}")
+    private int writerCount;
+
+    @Value("${expenses.ingest.receipt-ttl-ms:3600000}")
+    private long receiptTtlMillis;
+
+    @Value("${expenses.ingest.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMillis;
+
+    private BlockingQueue<Pending> queue;
+    private BoundedTtlCache<String, Receipt> receipts;
+    private TransactionTemplate transactionTemplate;
+    private final List<Thread> writers = new ArrayList<>();
+    private volatile boolean accepting;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder persisted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        // Every queued receipt plus the completed ones still kept for status lookups
+        receipts = new BoundedTtlCache<>(queueCapacity * 10, receiptTtlMillis);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("expenseflow.ingest.queue", queue, Collection::size)
+                .description("Expenses accepted but not yet written")
+                .register(meterRegistry);
+        accepting = true;
+        for (int i = 1; i <= writerCount; i++) {
+            Thread writer = new Thread(this::drain, "expense-ingest-" + i);
+            writer.setDaemon(true);
+            writer.start();
+            writers.add(writer);
+        }
+    }
+
+    public ExpenseReceipt accept(Long userId, ExpenseRequest request) {
+        if (!enabled) {
+            throw new ServiceUnavailableException("Asynchronous expense ingestion is disabled");
+        }
+        if (!categoryRepository.existsByIdAndUserId(request.getCategoryId(), userId)) {
+            throw new RuntimeException("Category not found");
+        }
+        Expense.PaymentMethod paymentMethod = parsePaymentMethod(request.getPaymentMethod());
+        if (paymentMethod == null) {
+            throw new RuntimeException("Invalid payment method: " + request.getPaymentMethod());
+        }
+
+        String receiptId = UUID.randomUUID().toString();
+        Receipt receipt = new Receipt(userId, Status.QUEUED, null, null, LocalDateTime.now(), null);
+        Pending pending = new Pending(receiptId, userId, request.getCategoryId(), request.getTitle(),
+                request.getDescription(), request.getAmount(),
+                request.getExpenseDate() != null ? request.getExpenseDate() : LocalDate.now(),
+                paymentMethod, receipt.acceptedAt());
+
+        receipts.put(receiptId, receipt);
+        if (!accepting || !queue.offer(pending)) {
+            throw reject(receiptId);
+        }
+        // Shutdown began meanwhile: take the expense back unless a writer already has it
+        if (!accepting && queue.remove(pending)) {
+            throw reject(receiptId);
+        }
+        accepted.increment();
+        return toResponse(receiptId, receipt);
+    }
+
+    public ExpenseReceipt getReceipt(Long userId, String receiptId) {
+        Receipt receipt = enabled ? receipts.get(receiptId) : null;
+        if (receipt == null || !receipt.userId().equals(userId)) {
+            throw new RuntimeException("Receipt not found");
+        }
+        return toResponse(receiptId, receipt);
+    }
+
+    public Stats stats() {
+        long batchCount = batches.sum();
+        long written = persisted.sum();
+        return new Stats(enabled, enabled ? queue.size() : 0, queueCapacity, accepted.sum(), rejected.sum(),
+                written, failed.sum(), batchCount, batchCount == 0 ? 0.0 : written / (double) batchCount);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        accepting = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMillis);
+        for (Thread writer : writers) {
+            writer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Shutting down with {} accepted expenses not written", queue.size());
+        }
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Group commit: whatever is already queued, then wait up to max-delay-ms for the rest
+                batch.add(first);
+                queue.drainTo(batch, batchSize - batch.size());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+                while (batch.size() < batchSize && accepting) {
+                    Pending next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Expense ingestion writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<Expense> expenses;
+        try {
+            expenses = transactionTemplate.execute(status -> insert(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+                return;
+            }
+            // One bad row (e.g. its category was deleted meanwhile) must not fail the others
+            log.warn("Group commit of {} expenses failed, writing them one by one", batch.size(), e);
+            for (Pending pending : batch) {
+                write(List.of(pending));
+            }
+            return;
+        }
+
+        batches.increment();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            receipts.put(pending.receiptId(), new Receipt(pending.userId(), Status.PERSISTED,
+                    expenses.get(i).getId(), null, pending.acceptedAt(), now));
+        }
+        persisted.add(batch.size());
+    }
+
+    private List<Expense> insert(List<Pending> batch) {
+        List<Expense> expenses = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            Expense expense = new Expense();
+            expense.setTitle(pending.title());
+            expense.setDescription(pending.description());
+            expense.setAmount(pending.amount());
+            expense.setExpenseDate(pending.expenseDate());
+            expense.setCategory(entityManager.getReference(Category.class, pending.categoryId()));
+            expense.setUser(entityManager.getReference(User.class, pending.userId()));
+            expense.setPaymentMethod(pending.paymentMethod());
+            expenses.add(expense);
+        }
+        expenseRepository.saveAll(expenses);
+        entityManager.flush();
+        rollupService.recordAddedAll(expenses);
+        budgetSpentService.recordAddedAll(expenses);
+        searchService.indexAll(expenses);
+
+        Map<Long, LocalDate[]> ranges = new HashMap<>();
+        for (Expense expense : expenses) {
+            LocalDate date = expense.getExpenseDate();
+            ranges.merge(expense.getUser().getId(), new LocalDate[]{date, date}, (range, day) -> {
+                range[0] = range[0].isAfter(date) ? date : range[0];
+                range[1] = range[1].isBefore(date) ? date : range[1];
+                return range;
+            });
+        }
+        ranges.forEach((userId, range) -> {
+            analyticsCache.invalidate(userId, range[0], range[1]);
+            columnStore.evictUser(userId);
+            dataVersions.bump(userId);
+        });
+        return expenses;
+    }
+
+    private void fail(Pending pending, RuntimeException cause) {
+        String error = categoryRepository.existsByIdAndUserId(pending.categoryId(), pending.userId())
+                ? "Expense could not be saved" : "Category not found";
+        log.warn("Dropping ingested expense {}: {}", pending.receiptId(), error, cause);
+        receipts.put(pending.receiptId(), new Receipt(pending.userId(), Status.FAILED, null, error,
+                pending.acceptedAt(), LocalDateTime.now()));
+        failed.increment();
+    }
+
+    private ServiceUnavailableException reject(String receiptId) {
+        receipts.invalidate(receiptId);
+        rejected.increment();
+        return new ServiceUnavailableException("Expense ingestion is busy, please retry shortly", 1);
+    }
+
+    private Expense.PaymentMethod parsePaymentMethod(String value) {
+        if (value == null || value.isBlank()) {
+            return Expense.PaymentMethod.CASH;
+        }
+        try {
+            return Expense.PaymentMethod.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private ExpenseReceipt toResponse(String receiptId, Receipt receipt) {
+        return new ExpenseReceipt(receiptId, receipt.status().name(), receipt.expenseId(), receipt.error(),
+                receipt.acceptedAt(), receipt.completedAt());
+    }
+
+    public record Stats(boolean enabled, int queued, int queueCapacity, long accepted, long rejected,
+                        long persisted, long failed, long batches, double averageBatchSize) {
+    }
+
+    private record Receipt(Long userId, Status status, Long expenseId, String error,
+                           LocalDateTime acceptedAt, LocalDateTime completedAt) {
+    }
+
+    private record Pending(String receiptId, Long userId, Long categoryId, String title, String description,
+                           BigDecimal amount, LocalDate expenseDate, Expense.PaymentMethod paymentMethod,
+                           LocalDateTime acceptedAt) {
+    }
+}
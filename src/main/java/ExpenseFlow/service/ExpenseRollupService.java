@@ -0,0 +1,136 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.repository.ExpenseDailyRollupRepository;
+import ExpenseFlow.repository.ExpenseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Keeps the expense_daily_rollup table in step with the expenses table.
+ * The record methods must run inside the transaction that writes the expense.
+ */
+@Service
+@Transactional
+public class ExpenseRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseRollupService.class);
+
+    @Autowired
+    private ExpenseDailyRollupRepository rollupRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    public void recordAdded(Expense expense) {
+        add(Bucket.of(expense), expense.getAmount(), 1);
+    }
+
+    /**
+     * Adds a batch of new expenses with one upsert per touched bucket instead of one per expense.
+     */
+    public void recordAddedAll(Collection<Expense> expenses) {
+        Map<Bucket, BigDecimal> amounts = new HashMap<>();
+        Map<Bucket, Long> counts = new HashMap<>();
+        for (Expense expense : expenses) {
+            Bucket bucket = Bucket.of(expense);
+            amounts.merge(bucket, expense.getAmount(), BigDecimal::add);
+            counts.merge(bucket, 1L, Long::sum);
+        }
+        amounts.forEach((bucket, amount) -> add(bucket, amount, counts.get(bucket)));
+    }
+
+    public void recordRemoved(Expense expense) {
+        remove(Bucket.of(expense), expense.getAmount());
+    }
+
+    /**
+     * Moves an updated expense from the bucket and amount it had before the update
+     * to the ones it has now.
+     */
+    public void recordUpdated(Bucket before, BigDecimal amountBefore, Expense after) {
+        Bucket current = Bucket.of(after);
+        if (before.equals(current)) {
+            BigDecimal delta = after.getAmount().subtract(amountBefore);
+            if (delta.signum() != 0) {
+                add(current, delta, 0);
+            }
+            return;
+        }
+        remove(before, amountBefore);
+        add(current, after.getAmount(), 1);
+    }
+
+    public void removeCategory(Long categoryId) {
+        rollupRepository.deleteByCategoryId(categoryId);
+    }
+
+    public int rebuildForUser(Long userId) {
+        rollupRepository.deleteByUserId(userId);
+        analyticsCache.invalidateUser(userId);
+        dataVersions.bump(userId);
+        return rollupRepository.rebuildForUser(userId);
+    }
+
+    public int rebuildAll() {
+        rollupRepository.deleteAllInBatch();
+        analyticsCache.invalidateAll();
+        dataVersions.bumpAll();
+        return rollupRepository.rebuildAll();
+    }
+
+    // Populates the table once on deployments that already have expenses
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(1)
+    public void rebuildIfEmpty() {
+        if (!rollupRepository.existsByIdIsNotNull() && expenseRepository.existsByIdIsNotNull()) {
+            int buckets = rebuildAll();
+            log.info("Built expense_daily_rollup from expenses: {} buckets", buckets);
+        }
+    }
+
+    private void add(Bucket bucket, BigDecimal amount, long count) {
+        rollupRepository.addToBucket(bucket.userId(), bucket.expenseDate(), bucket.categoryId(),
+                bucket.paymentMethod().name(), amount, count);
+    }
+
+    private void remove(Bucket bucket, BigDecimal amount) {
+        add(bucket, amount.negate(), -1);
+        rollupRepository.deleteEmptyBucket(bucket.userId(), bucket.expenseDate(), bucket.categoryId(),
+                bucket.paymentMethod());
+    }
+
+    public record Bucket(Long userId, LocalDate expenseDate, Long categoryId, Expense.PaymentMethod paymentMethod) {
+
+        public Bucket {
+            Objects.requireNonNull(userId);
+            Objects.requireNonNull(expenseDate);
+            Objects.requireNonNull(categoryId);
+            Objects.requireNonNull(paymentMethod);
+        }
+
+        public static Bucket of(Expense expense) {
+            return new Bucket(expense.getUser().getId(), expense.getExpenseDate(),
+                    expense.getCategory().getId(), expense.getPaymentMethod());
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.entity.ExpenseSearchTerm;
+import ExpenseFlow.repository.ExpenseRepository;
+import ExpenseFlow.repository.ExpenseSearchTermRepository;
+import ExpenseFlow.repository.projection.SearchPosting;
+import ExpenseFlow.repository.projection.TermFrequency;
+import ExpenseFlow.util.SearchText;
+import ExpenseFlow.util.TransactionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Full-text search over expense titles and descriptions, backed by the expense_search_terms
+ * inverted index. The index methods must run inside the transaction that writes the expense,
+ * so a search never sees postings of an uncommitted or rolled back write.
+ *
+ * Query words match index terms exactly, as a prefix or, when fuzzy, within one or two edits.
+ * An expense scores the best match of every query word, weighted by where it was found
+ * (title over description) and by how rare the term is among the user's expenses.
+ * At most MAX_POSTINGS postings are ranked per search, exact matches first, then the most recent.
+ */
+@Service
+@Transactional
+public class ExpenseSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpenseSearchService.class);
+
+    private static final String INSERT_TERM = "INSERT INTO expense_search_terms (user_id, expense_id, term, weight) " +
+            "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE weight = ?";
+    private static final int TITLE_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int REBUILD_CHUNK = 5000;
+
+    private static final double EXACT = 1.0;
+    private static final double PREFIX = 0.8;
+    private static final double ONE_EDIT = 0.6;
+    private static final double TWO_EDITS = 0.4;
+    // Index terms kept per query word, the closest matches win
+    private static final int MAX_EXPANSIONS = 50;
+    // Postings ranked per search, so a short prefix on a large index stays bounded
+    private static final int MAX_POSTINGS = 20_000;
+
+    private static final Comparator<Hit> BY_DATE = Comparator.comparing((Hit hit) -> hit.expenseDate)
+            .thenComparing(hit -> hit.expenseId).reversed();
+    private static final Comparator<Hit> BY_SCORE = Comparator.comparingDouble((Hit hit) -> hit.score).reversed();
+
+    public enum Sort {
+        RELEVANCE, DATE;
+
+        public static Sort parse(String value) {
+            try {
+                return Sort.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported sort: " + value + " (use relevance or date)");
+            }
+        }
+    }
+
+    public record Criteria(String query, Long categoryId, LocalDate startDate, LocalDate endDate,
+                           BigDecimal minAmount, BigDecimal maxAmount, Sort sort, boolean fuzzy) {
+    }
+
+    public record Result(List<Long> expenseIds, long totalHits) {
+    }
+
+    @Autowired
+    private ExpenseSearchTermRepository searchTermRepository;
+
+    @Autowired
+    private ExpenseRepository expenseRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Index writes hold the read side until their transaction completes, rebuildAll holds the write side
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    public void index(Expense expense) {
+        indexAll(List.of(expense));
+    }
+
+    public void indexAll(Collection<Expense> expenses) {
+        holdOffRebuild();
+        List<Object[]> rows = new ArrayList<>();
+        for (Expense expense : expenses) {
+            addPostings(rows, expense.getUser().getId(), expense.getId(), expense.getTitle(), expense.getDescription());
+        }
+        insert(rows);
+    }
+
+    public void reindex(Expense expense) {
+        remove(expense.getId());
+        index(expense);
+    }
+
+    public void remove(Long expenseId) {
+        holdOffRebuild();
+        searchTermRepository.deleteByExpenseId(expenseId);
+    }
+
+    // Must run before the category delete cascades to its expenses
+    public void removeCategory(Long categoryId) {
+        holdOffRebuild();
+        searchTermRepository.deleteByCategoryId(categoryId);
+    }
+
+    /**
+     * Re-creates the whole index from the expenses table, one transaction per chunk of expenses.
+     * Expense writes wait until it is done, so none of them can leave postings behind.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long rebuildAll() {
+        rebuildLock.writeLock().lock();
+        try {
+            return rebuild();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private long rebuild() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> searchTermRepository.deleteAllInBatch());
+
+        long indexed = 0;
+        long afterId = 0;
+        while (true) {
+            List<Object[]> rows = new ArrayList<>();
+            long[] lastId = {afterId};
+            int[] count = {0};
+            jdbcTemplate.query("SELECT id, user_id, title, description FROM expenses WHERE id > ? ORDER BY id LIMIT " +
+                    REBUILD_CHUNK, rs -> {
+                lastId[0] = rs.getLong("id");
+                count[0]++;
+                addPostings(rows, rs.getLong("user_id"), lastId[0], rs.getString("title"), rs.getString("description"));
+            }, afterId);
+            if (count[0] == 0) {
+                return indexed;
+            }
+            transactionTemplate.executeWithoutResult(status -> insert(rows));
+            indexed += count[0];
+            afterId = lastId[0];
+        }
+    }
+
+    // Runs once the application is up, so an existing database gets its index on first start
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(3)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void rebuildIfEmpty() {
+        if (!searchTermRepository.existsByIdIsNotNull() && expenseRepository.existsByIdIsNotNull()) {
+            long expenses = rebuildAll();
+            log.info("Built expense_search_terms from expenses: {} expenses indexed", expenses);
+        }
+    }
+
+    /**
+     * Ranks the user's expenses matching the criteria and returns the ids of the first {@code limit}.
+     */
+    @Transactional(readOnly = true)
+    public Result search(Long userId, Criteria criteria, int limit) {
+        Set<String> words = SearchText.terms(criteria.query(), ExpenseSearchTerm.MAX_TERM_LENGTH);
+        if (words.isEmpty()) {
+            throw new RuntimeException("Search query must contain at least one word");
+        }
+
+        List<Map<String, Double>> expansions = new ArrayList<>(words.size());
+        Set<String> terms = new HashSet<>();
+        List<String> vocabulary = null;
+        for (String word : words) {
+            int maxEdits = !criteria.fuzzy() || word.length() < 4 ? 0 : word.length() <= 6 ? 1 : 2;
+            if (maxEdits > 0 && vocabulary == null) {
+                vocabulary = searchTermRepository.findTermsByUserId(userId);
+            }
+            Map<String, Double> matches = expand(userId, word, maxEdits, vocabulary);
+            expansions.add(matches);
+            terms.addAll(matches.keySet());
+        }
+        if (terms.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+
+        // Best match kind first, so the cap drops fuzzy and prefix postings before exact ones
+        Map<String, Double> termMatch = new HashMap<>();
+        for (Map<String, Double> matches : expansions) {
+            matches.forEach((term, match) -> termMatch.merge(term, match, Math::max));
+        }
+        Map<Double, Set<String>> tiers = new TreeMap<>(Comparator.reverseOrder());
+        termMatch.forEach((term, match) -> tiers.computeIfAbsent(match, m -> new HashSet<>()).add(term));
+        List<SearchPosting> postings = new ArrayList<>();
+        for (Set<String> tier : tiers.values()) {
+            int remaining = MAX_POSTINGS - postings.size();
+            if (remaining <= 0) {
+                break;
+            }
+            postings.addAll(searchTermRepository.findPostings(userId, tier, criteria.categoryId(),
+                    criteria.startDate(), criteria.endDate(), criteria.minAmount(), criteria.maxAmount(),
+                    PageRequest.of(0, remaining)));
+        }
+        // Counted over all of the user's expenses like expenseCount, so filters do not change the ranking
+        Map<String, Long> documentFrequency = new HashMap<>();
+        for (TermFrequency frequency : searchTermRepository.countDocuments(userId, terms)) {
+            documentFrequency.put(frequency.term(), frequency.documents());
+        }
+        double expenseCount = Math.max(1, expenseRepository.countByUserId(userId));
+
+        Map<Long, Hit> hits = new HashMap<>();
+        for (SearchPosting posting : postings) {
+            Hit hit = hits.computeIfAbsent(posting.expenseId(),
+                    id -> new Hit(id, posting.expenseDate(), expansions.size()));
+            double idf = 1 + Math.log(expenseCount / (documentFrequency.getOrDefault(posting.term(), 0L) + 1));
+            for (int i = 0; i < expansions.size(); i++) {
+                Double match = expansions.get(i).get(posting.term());
+                if (match != null) {
+                    hit.best[i] = Math.max(hit.best[i], match * posting.weight() * idf);
+                }
+            }
+        }
+
+        List<Hit> ranked = new ArrayList<>(hits.values());
+        for (Hit hit : ranked) {
+            hit.score();
+        }
+        ranked.sort(criteria.sort() == Sort.DATE ? BY_DATE : BY_SCORE.thenComparing(BY_DATE));
+        List<Long> expenseIds = ranked.stream().limit(limit).map(hit -> hit.expenseId).toList();
+        return new Result(expenseIds, ranked.size());
+    }
+
+    // Exact and prefix matches come from an index range, the vocabulary is scanned only when maxEdits > 0
+    private Map<String, Double> expand(Long userId, String word, int maxEdits, List<String> vocabulary) {
+        Map<String, Double> matches = new HashMap<>();
+        for (String term : searchTermRepository.findTermsInRange(userId, word, word + '\uffff')) {
+            // The range follows the column collation, only true prefixes count
+            if (term.startsWith(word)) {
+                matches.put(term, term.equals(word) ? EXACT : PREFIX);
+            }
+        }
+        if (maxEdits > 0) {
+            for (String term : vocabulary) {
+                if (!matches.containsKey(term)) {
+                    int edits = SearchText.editDistance(word, term, maxEdits);
+                    if (edits <= maxEdits) {
+                        matches.put(term, edits == 1 ? ONE_EDIT : TWO_EDITS);
+                    }
+                }
+            }
+        }
+        if (matches.size() <= MAX_EXPANSIONS) {
+            return matches;
+        }
+        Map<String, Double> closest = new HashMap<>();
+        matches.entrySet().stream()
+                .sorted(Map.Entry.<String, Double>comparingByValue().reversed()
+                        .thenComparing(entry -> entry.getKey().length()))
+                .limit(MAX_EXPANSIONS)
+                .forEach(entry -> closest.put(entry.getKey(), entry.getValue()));
+        return closest;
+    }
+
+    // Released when the caller's transaction completes
+    private void holdOffRebuild() {
+        Lock lock = rebuildLock.readLock();
+        lock.lock();
+        TransactionUtils.afterCompletion(lock::unlock);
+    }
+
+    private void addPostings(List<Object[]> rows, Long userId, Long expenseId, String title, String description) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String term : SearchText.terms(title, ExpenseSearchTerm.MAX_TERM_LENGTH)) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String term : SearchText.terms(description, ExpenseSearchTerm.MAX_TERM_LENGTH)) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        weights.forEach((term, weight) -> rows.add(new Object[]{userId, expenseId, term, weight, weight}));
+    }
+
+    private void insert(List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TERM, rows);
+        }
+    }
+
+    private static final class Hit {
+        private final Long expenseId;
+        private final LocalDate expenseDate;
+        private final double[] best;
+        private double score;
+
+        private Hit(Long expenseId, LocalDate expenseDate, int words) {
+            this.expenseId = expenseId;
+            this.expenseDate = expenseDate;
+            this.best = new double[words];
+        }
+
+        // Sum of the best match per query word, scaled by the share of words that matched at all
+        private void score() {
+            int matched = 0;
+            double sum = 0;
+            for (double value : best) {
+                if (value > 0) {
+                    matched++;
+                    sum += value;
+                }
+            }
+            score = sum * matched / best.length;
+        }
+    }
+}
@@ -1,22 +1,34 @@
 package ExpenseFlow.service;
 
+import ExpenseFlow.dto.CursorPage;
 import ExpenseFlow.dto.ExpenseRequest;
 import ExpenseFlow.dto.ExpenseResponse;
+import ExpenseFlow.dto.ExpenseSearchResponse;
 import ExpenseFlow.entity.Category;
 import ExpenseFlow.entity.Expense;
 import ExpenseFlow.entity.User;
 import ExpenseFlow.repository.CategoryRepository;
 import ExpenseFlow.repository.ExpenseRepository;
 import ExpenseFlow.repository.UserRepository;
+import ExpenseFlow.repository.projection.ExpenseRow;
+import ExpenseFlow.util.ExpenseCursor;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "expenseflow.service", extraTags = {"service", "expense"})
 @Transactional
 public class ExpenseService {
 
@@ -29,6 +41,30 @@ public class ExpenseService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ExpenseRollupService rollupService;
+
+    @Autowired
+    private BudgetSpentService budgetSpentService;
+
+    @Autowired
+    private AnalyticsCache analyticsCache;
+
+    @Autowired
+    private DataVersionService dataVersions;
+
+    @Autowired
+    private ExpenseSearchService searchService;
+
+    @Autowired
+    private ExpenseColumnStore columnStore;
+
+    @Value("${expenses.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${expenses.page.max-size:200}")
+    private int maxPageSize;
+
     public ExpenseResponse createExpense(Long userId, ExpenseRequest request) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -46,6 +82,12 @@ public class ExpenseService {
         expense.setPaymentMethod(Expense.PaymentMethod.valueOf(request.getPaymentMethod().toUpperCase()));
 
         Expense savedExpense = expenseRepository.save(expense);
+        rollupService.recordAdded(savedExpense);
+        budgetSpentService.recordAdded(savedExpense);
+        searchService.index(savedExpense);
+        columnStore.recordSaved(savedExpense);
+        analyticsCache.invalidate(userId, savedExpense.getExpenseDate());
+        dataVersions.bump(userId);
 
         return mapToResponse(savedExpense);
     }
@@ -56,25 +98,45 @@ public class ExpenseService {
         return mapToResponse(expense);
     }
 
-    public List<ExpenseResponse> getAllExpenses(Long userId) {
-        return expenseRepository.findByUserIdOrderByExpenseDateDesc(userId)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<ExpenseResponse> getAllExpenses(Long userId, String cursor, Integer size) {
+        ExpenseCursor after = ExpenseCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        return toPage(expenseRepository.findPageByUser(userId, after.expenseDate(), after.id(),
+                Limit.of(pageSize + 1)), pageSize);
     }
 
-    public List<ExpenseResponse> getExpensesByCategory(Long userId, Long categoryId) {
-        return expenseRepository.findByUserIdAndCategoryId(userId, categoryId)
-                .stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<ExpenseResponse> getExpensesByCategory(Long userId, Long categoryId, String cursor, Integer size) {
+        ExpenseCursor after = ExpenseCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        return toPage(expenseRepository.findPageByUserAndCategory(userId, categoryId, after.expenseDate(), after.id(),
+                Limit.of(pageSize + 1)), pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ExpenseResponse> getExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate,
+                                                              String cursor, Integer size) {
+        ExpenseCursor after = ExpenseCursor.decode(cursor);
+        int pageSize = pageSize(size);
+        return toPage(expenseRepository.findPageByUserAndDateRange(userId, startDate, endDate,
+                after.expenseDate(), after.id(), Limit.of(pageSize + 1)), pageSize);
     }
 
-    public List<ExpenseResponse> getExpensesByDateRange(Long userId, LocalDate startDate, LocalDate endDate) {
-        return expenseRepository.findByUserIdAndExpenseDateBetween(userId, startDate, endDate)
-                .stream()
+    @Transactional(readOnly = true)
+    public ExpenseSearchResponse searchExpenses(Long userId, ExpenseSearchService.Criteria criteria, Integer size) {
+        ExpenseSearchService.Result result = searchService.search(userId, criteria, pageSize(size));
+        if (result.expenseIds().isEmpty()) {
+            return new ExpenseSearchResponse(result.totalHits(), List.of());
+        }
+        Map<Long, ExpenseRow> rows = expenseRepository.findRowsByUserAndIds(userId, result.expenseIds()).stream()
+                .collect(Collectors.toMap(ExpenseRow::id, Function.identity()));
+        List<ExpenseResponse> items = result.expenseIds().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
+        return new ExpenseSearchResponse(result.totalHits(), items);
     }
 
     public ExpenseResponse updateExpense(Long userId, Long expenseId, ExpenseRequest request) {
@@ -84,6 +146,10 @@ public class ExpenseService {
         Category category = categoryRepository.findByIdAndUserId(request.getCategoryId(), userId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
+        ExpenseRollupService.Bucket bucketBefore = ExpenseRollupService.Bucket.of(expense);
+        LocalDate dateBefore = expense.getExpenseDate();
+        BigDecimal amountBefore = expense.getAmount();
+
         expense.setTitle(request.getTitle());
         expense.setDescription(request.getDescription());
         expense.setAmount(request.getAmount());
@@ -94,15 +160,53 @@ public class ExpenseService {
         expense.setPaymentMethod(Expense.PaymentMethod.valueOf(request.getPaymentMethod().toUpperCase()));
 
         Expense updatedExpense = expenseRepository.save(expense);
+        rollupService.recordUpdated(bucketBefore, amountBefore, updatedExpense);
+        budgetSpentService.recordUpdated(bucketBefore, amountBefore, updatedExpense);
+        searchService.reindex(updatedExpense);
+        columnStore.recordSaved(updatedExpense);
+        analyticsCache.invalidate(userId, dateBefore);
+        analyticsCache.invalidate(userId, updatedExpense.getExpenseDate());
+        dataVersions.bump(userId);
         return mapToResponse(updatedExpense);
     }
 
     public void deleteExpense(Long userId, Long expenseId) {
         Expense expense = expenseRepository.findByIdAndUserId(expenseId, userId)
                 .orElseThrow(() -> new RuntimeException("Expense not found"));
+        rollupService.recordRemoved(expense);
+        budgetSpentService.recordRemoved(expense);
+        searchService.remove(expense.getId());
+        columnStore.recordRemoved(expense);
+        analyticsCache.invalidate(userId, expense.getExpenseDate());
+        dataVersions.bump(userId);
         expenseRepository.delete(expense);
     }
 
+    private int pageSize(Integer requested) {
+        if (requested == null) {
+            return defaultPageSize;
+        }
+        if (requested < 1 || requested > maxPageSize) {
+            throw new RuntimeException("Page size must be between 1 and " + maxPageSize);
+        }
+        return requested;
+    }
+
+    // One extra row is fetched to tell whether another page exists
+    private CursorPage<ExpenseResponse> toPage(List<ExpenseRow> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<ExpenseRow> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            ExpenseRow last = pageRows.get(pageRows.size() - 1);
+            nextCursor = new ExpenseCursor(last.expenseDate(), last.id()).encode();
+        }
+        List<ExpenseResponse> items = pageRows.stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+        return new CursorPage<>(items, items.size(), hasMore, nextCursor);
+    }
+
     private ExpenseResponse mapToResponse(Expense expense) {
         ExpenseResponse response = new ExpenseResponse();
         response.setId(expense.getId());
@@ -117,5 +221,10 @@ public class ExpenseService {
         response.setUpdatedAt(expense.getUpdatedAt());
         return response;
     }
+
+    private ExpenseResponse mapToResponse(ExpenseRow row) {
+        return new ExpenseResponse(row.id(), row.title(), row.description(), row.amount(), row.expenseDate(),
+                row.categoryName(), row.categoryId(), row.paymentMethod().name(), row.createdAt(), row.updatedAt());
+    }
 }
 
@@ -0,0 +1,141 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed window attempt counters checked before any password hashing happens.
+ * Every login and register attempt counts against the client address;
+ * failed logins also count against the username from that address, so one host
+ * guessing a password is stopped early without letting anyone lock the real
+ * owner out of their account from elsewhere.
+ */
+@Component
+public class LoginThrottle {
+
+    private final int addressMaxAttempts;
+    private final long addressWindowMillis;
+    private final int usernameMaxFailures;
+    private final long usernameWindowMillis;
+    private final int maxTrackedKeys;
+
+    private final Map<String, Window> addressWindows = new ConcurrentHashMap<>();
+    // Keyed on username and client address together
+    private final Map<String, Window> usernameWindows = new ConcurrentHashMap<>();
+    private final LongAdder throttled = new LongAdder();
+
+    public LoginThrottle(@Value("${security.login.address-max-attempts:30}") int addressMaxAttempts,
+                         @Value("${security.login.address-window-ms:60000}") long addressWindowMillis,
+                         @Value("${security.login.username-max-failures:5}") int usernameMaxFailures,
+                         @Value("${security.login.username-window-ms:300000}") long usernameWindowMillis,
+                         @Value("${security.login.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.addressMaxAttempts = addressMaxAttempts;
+        this.addressWindowMillis = addressWindowMillis;
+        this.usernameMaxFailures = usernameMaxFailures;
+        this.usernameWindowMillis = usernameWindowMillis;
+        this.maxTrackedKeys = maxTrackedKeys;
+    }
+
+    /**
+     * Counts an attempt from the address and rejects it when the address, or the
+     * username (may be null) from this address, is over its limit.
+     */
+    public void checkAttempt(String address, String username) {
+        long now = System.currentTimeMillis();
+        if (username != null) {
+            Window failures = usernameWindows.get(key(username, address));
+            if (failures != null) {
+                long retryAfter = failures.retryAfterMillis(now, usernameWindowMillis, usernameMaxFailures);
+                if (retryAfter > 0) {
+                    reject("Too many failed logins for this account", retryAfter);
+                }
+            }
+        }
+        Window attempts = window(addressWindows, address, now, addressWindowMillis);
+        long retryAfter = attempts.add(now, addressWindowMillis, addressMaxAttempts);
+        if (retryAfter > 0) {
+            reject("Too many authentication attempts", retryAfter);
+        }
+    }
+
+    public void recordFailure(String address, String username) {
+        long now = System.currentTimeMillis();
+        window(usernameWindows, key(username, address), now, usernameWindowMillis)
+                .add(now, usernameWindowMillis, Integer.MAX_VALUE);
+    }
+
+    public void recordSuccess(String address, String username) {
+        usernameWindows.remove(key(username, address));
+    }
+
+    public Stats stats() {
+        return new Stats(addressWindows.size(), usernameWindows.size(), throttled.sum());
+    }
+
+    private void reject(String message, long retryAfterMillis) {
+        throttled.increment();
+        throw new TooManyRequestsException(message, Math.max(1, (retryAfterMillis + 999) / 1000));
+    }
+
+    private Window window(Map<String, Window> windows, String key, long now, long windowMillis) {
+        if (windows.size() >= maxTrackedKeys) {
+            evictExpired(windows, now, windowMillis);
+        }
+        return windows.computeIfAbsent(key, k -> new Window(now));
+    }
+
+    private void evictExpired(Map<String, Window> windows, long now, long windowMillis) {
+        Iterator<Window> iterator = windows.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().isExpired(now, windowMillis)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private String key(String username, String address) {
+        return username.trim().toLowerCase() + '@' + address;
+    }
+
+    private static final class Window {
+        private long start;
+        private int count;
+
+        private Window(long start) {
+            this.start = start;
+        }
+
+        // Returns 0 when the attempt is allowed, otherwise milliseconds until the window resets
+        synchronized long add(long now, long windowMillis, int max) {
+            if (now - start >= windowMillis) {
+                start = now;
+                count = 0;
+            }
+            if (count >= max) {
+                return start + windowMillis - now;
+            }
+            count++;
+            return 0;
+        }
+
+        synchronized long retryAfterMillis(long now, long windowMillis, int max) {
+            if (now - start >= windowMillis || count < max) {
+                return 0;
+            }
+            return start + windowMillis - now;
+        }
+
+        synchronized boolean isExpired(long now, long windowMillis) {
+            return now - start >= windowMillis;
+        }
+    }
+
+    public record Stats(int trackedAddresses, int trackedUsernames, long throttled) {
+    }
+}
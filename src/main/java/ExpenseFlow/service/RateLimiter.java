@@ -0,0 +1,89 @@
+package ExpenseFlow.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-user token buckets, each held in a single AtomicLong and updated lock-free.
+ * The long stores the "theoretical arrival time" of the next request (GCRA), which is
+ * equivalent to a bucket of {@code capacity} tokens refilled at {@code refillPerSecond}:
+ * a request of cost c is admitted when the bucket still holds c tokens.
+ */
+@Component
+public class RateLimiter {
+
+    // Written into a bucket as it is evicted, a request still holding it retries on a fresh one
+    private static final long EVICTED = Long.MIN_VALUE;
+
+    private final long capacity;
+    private final long nanosPerToken;
+    private final long idleNanos;
+
+    private final Map<Long, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongAdder limited = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public RateLimiter(@Value("${ratelimit.capacity:100}") long capacity,
+                       @Value("${ratelimit.refill-per-second:10}") long refillPerSecond,
+                       @Value("${ratelimit.idle-eviction-ms:600000}") long idleMillis) {
+        this.capacity = capacity;
+        this.nanosPerToken = 1_000_000_000L / refillPerSecond;
+        this.idleNanos = idleMillis * 1_000_000L;
+    }
+
+    /**
+     * Takes {@code cost} tokens from the user's bucket.
+     * Returns 0 when admitted, otherwise the nanoseconds until enough tokens are available.
+     */
+    public long tryAcquire(Long userId, int cost) {
+        AtomicLong bucket = buckets.computeIfAbsent(userId, id -> new AtomicLong(System.nanoTime()));
+        long increment = cost * nanosPerToken;
+        long burst = capacity * nanosPerToken;
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = bucket.get();
+            if (arrival == EVICTED) {
+                buckets.remove(userId, bucket);
+                bucket = buckets.computeIfAbsent(userId, id -> new AtomicLong(System.nanoTime()));
+                continue;
+            }
+            long next = Math.max(arrival, now) + increment;
+            long wait = next - now - burst;
+            if (wait > 0) {
+                limited.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // A bucket idle long enough is full again, dropping it loses nothing
+    @Scheduled(fixedDelayString = "${ratelimit.idle-eviction-ms:600000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (Map.Entry<Long, AtomicLong> entry : buckets.entrySet()) {
+            AtomicLong bucket = entry.getValue();
+            long arrival = bucket.get();
+            // The compare-and-set fails when a request took tokens since the read, the bucket is then kept
+            if (arrival != EVICTED && now - arrival > idleNanos && bucket.compareAndSet(arrival, EVICTED)) {
+                buckets.remove(entry.getKey(), bucket);
+                evicted.increment();
+            }
+        }
+    }
+
+    public Stats stats() {
+        return new Stats(buckets.size(), limited.sum(), evicted.sum());
+    }
+
+    public record Stats(int trackedUsers, long limitedRequests, long evictedBuckets) {
+    }
+}
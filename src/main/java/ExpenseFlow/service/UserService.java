@@ -1,5 +1,6 @@
 package ExpenseFlow.service;
 
+import ExpenseFlow.config.jwt.AuthenticatedUser;
 import ExpenseFlow.entity.User;
 import ExpenseFlow.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +16,10 @@ public class UserService {
 
     public Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        // Requests authenticated by JWT carry the id, no query needed
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.id();
+        }
         String username = authentication.getName();
         return userRepository.findByUsername(username)
                 .map(User::getId)
@@ -22,9 +27,7 @@ public class UserService {
     }
 
     public User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = authentication.getName();
-        return userRepository.findByUsername(username)
+        return userRepository.findById(getCurrentUserId())
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
 }
@@ -0,0 +1,35 @@
+package ExpenseFlow.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position in an expense listing ordered by (expenseDate DESC, id DESC).
+ * Clients only see it as an opaque base64url token; the next page starts
+ * strictly after this position, so every page is an index range seek instead of an OFFSET scan.
+ */
+public record ExpenseCursor(LocalDate expenseDate, Long id) {
+
+    // Sorts before every stored expense, used for the first page
+    public static final ExpenseCursor START = new ExpenseCursor(LocalDate.of(9999, 12, 31), Long.MAX_VALUE);
+
+    public String encode() {
+        String raw = expenseDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ExpenseCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new ExpenseCursor(LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package ExpenseFlow.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money amounts handled internally as {@code long} cents.
+ * Amounts are stored with scale 2 (precision 10), so a long holds any sum without loss.
+ * Convert to BigDecimal only when filling a response DTO.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    public static long toCents(BigDecimal amount) {
+        if (amount == null) {
+            return 0L;
+        }
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static double percentage(long partCents, long wholeCents) {
+        if (wholeCents <= 0) {
+            return 0.0;
+        }
+        return ((double) partCents / wholeCents) * 100;
+    }
+}
@@ -0,0 +1,160 @@
+package ExpenseFlow;
+
+import ExpenseFlow.dto.BudgetRequest;
+import ExpenseFlow.dto.ExpenseRequest;
+import ExpenseFlow.entity.Category;
+import ExpenseFlow.entity.User;
+import ExpenseFlow.repository.BudgetRepository;
+import ExpenseFlow.repository.CategoryRepository;
+import ExpenseFlow.repository.ExpenseDailyRollupRepository;
+import ExpenseFlow.repository.UserRepository;
+import ExpenseFlow.service.BudgetService;
+import ExpenseFlow.service.BudgetSpentService;
+import ExpenseFlow.service.CategoryService;
+import ExpenseFlow.service.ExpenseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RollupConsistencyTests {
+
+	private static final LocalDate FROM = LocalDate.of(2000, 1, 1);
+	private static final LocalDate TO = LocalDate.of(2100, 12, 31);
+
+	@Autowired
+	private ExpenseService expenseService;
+
+	@Autowired
+	private CategoryService categoryService;
+
+	@Autowired
+	private BudgetService budgetService;
+
+	@Autowired
+	private BudgetSpentService budgetSpentService;
+
+	@Autowired
+	private ExpenseDailyRollupRepository rollupRepository;
+
+	@Autowired
+	private BudgetRepository budgetRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private User user;
+	private Category food;
+	private Category travel;
+	private Long overallBudget;
+	private Long foodBudget;
+
+	@BeforeEach
+	void setUp() {
+		user = new User();
+		user.setUsername("rollup-" + System.nanoTime());
+		user.setEmail(user.getUsername() + "@example.com");
+		user.setPassword("secret");
+		user.setFirstName("Rollup");
+		user.setLastName("Test");
+		user = userRepository.save(user);
+
+		food = category("Food");
+		travel = category("Travel");
+
+		overallBudget = budgetService.createBudget(user.getId(), new BudgetRequest("All", null, new BigDecimal("1000"),
+				LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31), null, "YEARLY")).getId();
+		foodBudget = budgetService.createBudget(user.getId(), new BudgetRequest("Food", null, new BigDecimal("300"),
+				LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 28), food.getId(), "CUSTOM")).getId();
+	}
+
+	@Test
+	void rollupAndBudgetsFollowExpenseWrites() {
+		Long lunch = create("Lunch", "12.50", LocalDate.of(2026, 1, 10), food, "CASH");
+		Long dinner = create("Dinner", "40.25", LocalDate.of(2026, 1, 10), food, "CASH");
+		create("Taxi", "20.00", LocalDate.of(2026, 2, 3), travel, "UPI");
+		assertDerivedTotalsMatchExpenses();
+		assertEquals(List.of("Food|2026|1|CASH|5275|2", "Travel|2026|2|UPI|2000|1"), rows());
+		assertEquals(new BigDecimal("72.75"), budgetRepository.findSpentAmountById(overallBudget));
+		assertEquals(new BigDecimal("52.75"), budgetRepository.findSpentAmountById(foodBudget));
+
+		// Same bucket, new amount
+		expenseService.updateExpense(user.getId(), lunch, request("Lunch", "15.00", LocalDate.of(2026, 1, 10), food, "CASH"));
+		assertDerivedTotalsMatchExpenses();
+
+		// Moved across date, category and payment method at once
+		expenseService.updateExpense(user.getId(), dinner, request("Dinner", "41.00", LocalDate.of(2026, 3, 1), travel, "CREDIT_CARD"));
+		assertDerivedTotalsMatchExpenses();
+
+		expenseService.deleteExpense(user.getId(), lunch);
+		assertDerivedTotalsMatchExpenses();
+
+		categoryService.deleteCategory(user.getId(), travel.getId());
+		assertDerivedTotalsMatchExpenses();
+		assertTrue(rows().isEmpty(), "every remaining expense belonged to the deleted category");
+	}
+
+	private void assertDerivedTotalsMatchExpenses() {
+		List<String> expected = jdbcTemplate.query(
+				"SELECT c.name, YEAR(e.expense_date) AS y, MONTH(e.expense_date) AS m, e.payment_method, " +
+				"SUM(e.amount) AS amount, COUNT(*) AS n FROM expenses e JOIN categories c ON c.id = e.category_id " +
+				"WHERE e.user_id = ? GROUP BY c.name, YEAR(e.expense_date), MONTH(e.expense_date), e.payment_method",
+				(rs, i) -> String.join("|", rs.getString(1), rs.getString(2), rs.getString(3), rs.getString(4),
+						String.valueOf(rs.getBigDecimal(5).movePointRight(2).longValueExact()), rs.getString(6)),
+				user.getId());
+		assertEquals(expected.stream().sorted().toList(), rows());
+
+		assertSpent(overallBudget, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 12, 31), null);
+		assertSpent(foodBudget, LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 28), food.getId());
+		assertEquals(0, budgetSpentService.reconcileUser(user.getId()), "reconcile found spent amount drift");
+	}
+
+	private void assertSpent(Long budgetId, LocalDate startDate, LocalDate endDate, Long categoryId) {
+		BigDecimal expected = jdbcTemplate.queryForObject(
+				"SELECT COALESCE(SUM(amount), 0) FROM expenses WHERE user_id = ? AND expense_date BETWEEN ? AND ? " +
+				"AND (? IS NULL OR category_id = ?)",
+				BigDecimal.class, user.getId(), startDate, endDate, categoryId, categoryId);
+		assertEquals(0, expected.compareTo(budgetRepository.findSpentAmountById(budgetId)),
+				"spent amount of budget " + budgetId);
+	}
+
+	private List<String> rows() {
+		return rollupRepository.sumByCategoryMonthAndPaymentMethod(user.getId(), FROM, TO).stream()
+				.map(row -> String.join("|", row.getCategoryName(), String.valueOf(row.getExpenseYear()),
+						String.valueOf(row.getExpenseMonth()), row.getPaymentMethod().name(),
+						String.valueOf(row.getAmountCents()), String.valueOf(row.getCount())))
+				.sorted()
+				.toList();
+	}
+
+	private Long create(String title, String amount, LocalDate date, Category category, String paymentMethod) {
+		return expenseService.createExpense(user.getId(), request(title, amount, date, category, paymentMethod)).getId();
+	}
+
+	private ExpenseRequest request(String title, String amount, LocalDate date, Category category, String paymentMethod) {
+		return new ExpenseRequest(title, null, new BigDecimal(amount), date, category.getId(), paymentMethod);
+	}
+
+	private Category category(String name) {
+		Category category = new Category();
+		category.setName(name);
+		category.setUser(user);
+		return categoryRepository.save(category);
+	}
+}
@@ -0,0 +1,84 @@
+package ExpenseFlow;
+
+import ExpenseFlow.entity.Category;
+import ExpenseFlow.entity.User;
+import ExpenseFlow.repository.CategoryRepository;
+import ExpenseFlow.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTests {
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CategoryRepository categoryRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+	private User user;
+	private Category category;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		user = new User();
+		user.setUsername("cache-" + System.nanoTime());
+		user.setEmail(user.getUsername() + "@example.com");
+		user.setPassword("secret");
+		user.setFirstName("Cache");
+		user.setLastName("Test");
+		user = userRepository.save(user);
+
+		category = new Category();
+		category.setName("Groceries");
+		category.setUser(user);
+		category = categoryRepository.save(category);
+	}
+
+	@Test
+	void repeatedLookupsDoNotReachTheDatabase() {
+		categoryRepository.findByIdAndUserId(category.getId(), user.getId()).orElseThrow();
+		userRepository.findByUsername(user.getUsername()).orElseThrow();
+		categoryRepository.findById(category.getId()).orElseThrow();
+
+		statistics.clear();
+		for (int i = 0; i < 5; i++) {
+			assertEquals("Groceries", categoryRepository.findByIdAndUserId(category.getId(), user.getId()).orElseThrow().getName());
+			assertEquals(user.getId(), userRepository.findByUsername(user.getUsername()).orElseThrow().getId());
+			assertTrue(categoryRepository.findById(category.getId()).isPresent());
+			assertTrue(userRepository.findById(user.getId()).isPresent());
+		}
+		assertEquals(0, statistics.getPrepareStatementCount());
+		assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+	}
+
+	@Test
+	void updatesAndDeletesAreVisibleToLaterReads() {
+		categoryRepository.findByIdAndUserId(category.getId(), user.getId()).orElseThrow();
+
+		category.setName("Food");
+		categoryRepository.save(category);
+		assertEquals("Food", categoryRepository.findByIdAndUserId(category.getId(), user.getId()).orElseThrow().getName());
+		assertEquals("Food", categoryRepository.findById(category.getId()).orElseThrow().getName());
+
+		categoryRepository.deleteById(category.getId());
+		assertTrue(categoryRepository.findByIdAndUserId(category.getId(), user.getId()).isEmpty());
+		assertTrue(categoryRepository.findById(category.getId()).isEmpty());
+		assertTrue(categoryRepository.findByUserId(user.getId()).isEmpty());
+	}
+}
@@ -0,0 +1,129 @@
+package ExpenseFlow.benchmark;
+
+import ExpenseFlow.dto.AnalyticsResponse;
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.service.AnalyticsAccumulator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the original stream based analytics aggregation, which re-scans the
+ * expense list for every category and month count, with {@link AnalyticsAccumulator}.
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.include=AnalyticsAggregationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsAggregationBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private List<Expense> expenses;
+
+    @Setup
+    public void setUp() {
+        expenses = SyntheticExpenses.expenses(size, 42L);
+    }
+
+    @Benchmark
+    public AnalyticsResponse streamsWithRecount() {
+        return legacyAggregate(expenses, BigDecimal.ZERO);
+    }
+
+    @Benchmark
+    public AnalyticsResponse singlePassAccumulator() {
+        AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+        for (Expense expense : expenses) {
+            accumulator.add(expense);
+        }
+        return accumulator.toResponse(0L);
+    }
+
+    // The aggregation AnalyticsService.getAnalytics performed before the accumulator existed
+    static AnalyticsResponse legacyAggregate(List<Expense> expenses, BigDecimal totalBudget) {
+        AnalyticsResponse response = new AnalyticsResponse();
+
+        BigDecimal totalExpenses = expenses.stream()
+                .map(Expense::getAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        response.setTotalExpenses(totalExpenses);
+        response.setTotalTransactions((long) expenses.size());
+        response.setTotalBudget(totalBudget);
+        response.setTotalSavings(totalBudget.subtract(totalExpenses));
+
+        Map<String, BigDecimal> categoryAmounts = expenses.stream()
+                .collect(Collectors.groupingBy(
+                        e -> e.getCategory().getName(),
+                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
+                ));
+        response.setExpensesByCategory(categoryAmounts.entrySet().stream()
+                .map(entry -> {
+                    AnalyticsResponse.CategoryExpense ce = new AnalyticsResponse.CategoryExpense();
+                    ce.setCategoryName(entry.getKey());
+                    ce.setAmount(entry.getValue());
+                    ce.setCount(expenses.stream()
+                            .filter(e -> e.getCategory().getName().equals(entry.getKey()))
+                            .count());
+                    if (totalExpenses.compareTo(BigDecimal.ZERO) > 0) {
+                        ce.setPercentage((entry.getValue().doubleValue() / totalExpenses.doubleValue()) * 100);
+                    } else {
+                        ce.setPercentage(0.0);
+                    }
+                    return ce;
+                })
+                .sorted((a, b) -> b.getAmount().compareTo(a.getAmount()))
+                .collect(Collectors.toList()));
+
+        Map<YearMonth, BigDecimal> monthlyAmounts = expenses.stream()
+                .collect(Collectors.groupingBy(
+                        e -> YearMonth.from(e.getExpenseDate()),
+                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
+                ));
+        response.setMonthlyExpenses(monthlyAmounts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> {
+                    AnalyticsResponse.MonthlyExpense me = new AnalyticsResponse.MonthlyExpense();
+                    me.setMonth(entry.getKey().format(DateTimeFormatter.ofPattern("MMMM yyyy")));
+                    me.setAmount(entry.getValue());
+                    me.setCount(expenses.stream()
+                            .filter(e -> YearMonth.from(e.getExpenseDate()).equals(entry.getKey()))
+                            .count());
+                    return me;
+                })
+                .collect(Collectors.toList()));
+
+        response.setExpensesByPaymentMethod(expenses.stream()
+                .collect(Collectors.groupingBy(
+                        e -> e.getPaymentMethod().name(),
+                        Collectors.reducing(BigDecimal.ZERO, Expense::getAmount, BigDecimal::add)
+                )));
+
+        return response;
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(AnalyticsAggregationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
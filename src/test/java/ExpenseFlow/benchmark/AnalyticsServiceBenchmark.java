@@ -0,0 +1,133 @@
+package ExpenseFlow.benchmark;
+
+import ExpenseFlow.dto.AnalyticsResponse;
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.repository.BudgetRepository;
+import ExpenseFlow.repository.CategoryRepository;
+import ExpenseFlow.repository.ExpenseDailyRollupRepository;
+import ExpenseFlow.repository.projection.ExpenseGroupTotal;
+import ExpenseFlow.service.AnalyticsCache;
+import ExpenseFlow.service.AnalyticsService;
+import ExpenseFlow.service.ExpenseColumnStore;
+import ExpenseFlow.util.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AnalyticsService#getAnalytics} end to end, section futures and accumulator included,
+ * with the rollup and budget repositories answered from synthetic expenses grouped the way
+ * the rollup query groups them. The analytics cache and the column store are disabled so every
+ * call recomputes from the rollup rows.
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.include=AnalyticsServiceBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnalyticsServiceBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int size;
+
+    @Param({"1", "10"})
+    private int years;
+
+    private AnalyticsService analyticsService;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        List<ExpenseGroupTotal> rows = groupTotals(SyntheticExpenses.expenses(size, 42L, years));
+
+        analyticsService = new AnalyticsService();
+        ReflectionTestUtils.setField(analyticsService, "rollupRepository",
+                stub(ExpenseDailyRollupRepository.class, "sumByCategoryMonthAndPaymentMethod", rows));
+        ReflectionTestUtils.setField(analyticsService, "budgetRepository",
+                stub(BudgetRepository.class, "getTotalBudgetCentsByUserAndDateRange", 1_000_000_00L));
+        ReflectionTestUtils.setField(analyticsService, "analyticsCache", new AnalyticsCache(0, 0));
+        ExpenseColumnStore columnStore = new ExpenseColumnStore();
+        ReflectionTestUtils.setField(columnStore, "enabled", false);
+        ReflectionTestUtils.setField(analyticsService, "columnStore", columnStore);
+        ReflectionTestUtils.setField(analyticsService, "categoryRepository",
+                stub(CategoryRepository.class, "findByUserId", List.of()));
+        ReflectionTestUtils.setField(analyticsService, "timeoutMillis", 5000L);
+
+        startDate = LocalDate.of(2024, 1, 1);
+        endDate = startDate.plusYears(years).minusDays(1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(analyticsService, "shutdown");
+    }
+
+    @Benchmark
+    public AnalyticsResponse getAnalytics() {
+        return analyticsService.getAnalytics(1L, startDate, endDate);
+    }
+
+    // Same grouping as ExpenseDailyRollupRepository.sumByCategoryMonthAndPaymentMethod
+    static List<ExpenseGroupTotal> groupTotals(List<Expense> expenses) {
+        Map<GroupKey, long[]> groups = new HashMap<>();
+        for (Expense expense : expenses) {
+            GroupKey key = new GroupKey(expense.getCategory().getName(), expense.getExpenseDate().getYear(),
+                    expense.getExpenseDate().getMonthValue(), expense.getPaymentMethod());
+            long[] totals = groups.computeIfAbsent(key, k -> new long[2]);
+            totals[0] += Money.toCents(expense.getAmount());
+            totals[1]++;
+        }
+        List<ExpenseGroupTotal> rows = new ArrayList<>(groups.size());
+        groups.forEach((key, totals) -> rows.add(new GroupTotal(key.categoryName(), key.year(), key.month(),
+                key.paymentMethod(), totals[0], totals[1])));
+        return rows;
+    }
+
+    // Repository stand-in that answers a single query method
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> repositoryType, String methodName, Object result) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    if (method.getName().equals(methodName)) {
+                        return result;
+                    }
+                    if (method.getName().equals("toString")) {
+                        return repositoryType.getSimpleName() + " stub";
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private record GroupKey(String categoryName, int year, int month, Expense.PaymentMethod paymentMethod) {
+    }
+
+    private record GroupTotal(String getCategoryName, Integer getExpenseYear, Integer getExpenseMonth,
+                              Expense.PaymentMethod getPaymentMethod, Long getAmountCents, Long getCount)
+            implements ExpenseGroupTotal {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(AnalyticsServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
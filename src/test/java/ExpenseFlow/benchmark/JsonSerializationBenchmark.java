@@ -0,0 +1,80 @@
+package ExpenseFlow.benchmark;
+
+import ExpenseFlow.dto.AnalyticsResponse;
+import ExpenseFlow.dto.CursorPage;
+import ExpenseFlow.dto.ExpenseResponse;
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.service.AnalyticsAccumulator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the analytics response and of expense pages, with an
+ * ObjectMapper configured like the one Spring MVC uses for responses.
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.include=JsonSerializationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    // Expenses on one page; 10000 is the size of a full JSON import body
+    @Param({"50", "200", "10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private AnalyticsResponse analytics;
+    private CursorPage<ExpenseResponse> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<Expense> expenses = SyntheticExpenses.expenses(size, 42L);
+        AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+        List<ExpenseResponse> items = new ArrayList<>(size);
+        for (Expense expense : expenses) {
+            accumulator.add(expense);
+            items.add(new ExpenseResponse(expense.getId(), expense.getTitle(), expense.getDescription(),
+                    expense.getAmount(), expense.getExpenseDate(), expense.getCategory().getName(),
+                    expense.getCategory().getId(), expense.getPaymentMethod().name(),
+                    expense.getCreatedAt(), expense.getUpdatedAt()));
+        }
+        analytics = accumulator.toResponse(1_000_000_00L);
+        page = new CursorPage<>(items, items.size(), true, "MjAyNC0wMS0wMToxMDA");
+    }
+
+    @Benchmark
+    public byte[] analyticsResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(analytics);
+    }
+
+    @Benchmark
+    public byte[] expensePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(JsonSerializationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
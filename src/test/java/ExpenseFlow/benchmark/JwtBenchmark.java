@@ -0,0 +1,81 @@
+package ExpenseFlow.benchmark;
+
+import ExpenseFlow.config.jwt.JwtUtils;
+import ExpenseFlow.config.jwt.VerifiedToken;
+import ExpenseFlow.entity.User;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JwtUtils} token generation, verification through the verified token cache,
+ * full signature verification (cache disabled) and the isTokenValid check.
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.include=JwtBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private final User user = SyntheticExpenses.user();
+    private JwtUtils cachingJwtUtils;
+    private JwtUtils parsingJwtUtils;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtils = jwtUtils(10_000);
+        parsingJwtUtils = jwtUtils(0);
+        token = cachingJwtUtils.generateToken(user);
+        cachingJwtUtils.verify(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachingJwtUtils.generateToken(user);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return cachingJwtUtils.verify(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyParse() {
+        return parsingJwtUtils.verify(token);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return parsingJwtUtils.isTokenValid(token, user.getUsername());
+    }
+
+    // Same defaults as the @Value placeholders of JwtUtils
+    private static JwtUtils jwtUtils(int cacheMaxEntries) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "SECRET", "ExpenseFlowSecretKeyForJWTTokenGeneration2024SecureAndLongEnough");
+        ReflectionTestUtils.setField(jwtUtils, "EXPIRATION_TIME", 86_400_000L);
+        ReflectionTestUtils.setField(jwtUtils, "cacheMaxEntries", cacheMaxEntries);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "init");
+        return jwtUtils;
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(JwtBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package ExpenseFlow.benchmark;
+
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.util.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-category sums and percentages computed with BigDecimal::add and doubleValue()
+ * divisions, as the services did before, against primitive long cents via {@link Money}.
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.include=MoneyArithmeticBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int size;
+
+    private BigDecimal[] amounts;
+    private long[] cents;
+    private int[] categoryIndexes;
+    private int categoryCount;
+
+    @Setup
+    public void setUp() {
+        List<Expense> expenses = SyntheticExpenses.expenses(size, 42L);
+        categoryCount = SyntheticExpenses.categories().size();
+        amounts = new BigDecimal[size];
+        cents = new long[size];
+        categoryIndexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            Expense expense = expenses.get(i);
+            amounts[i] = expense.getAmount();
+            cents[i] = Money.toCents(expense.getAmount());
+            categoryIndexes[i] = expense.getCategory().getId().intValue() - 1;
+        }
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        BigDecimal total = BigDecimal.ZERO;
+        BigDecimal[] sums = new BigDecimal[categoryCount];
+        Arrays.fill(sums, BigDecimal.ZERO);
+        for (int i = 0; i < amounts.length; i++) {
+            total = total.add(amounts[i]);
+            sums[categoryIndexes[i]] = sums[categoryIndexes[i]].add(amounts[i]);
+        }
+        for (BigDecimal sum : sums) {
+            blackhole.consume(total.compareTo(BigDecimal.ZERO) > 0
+                    ? (sum.doubleValue() / total.doubleValue()) * 100 : 0.0);
+            blackhole.consume(sum);
+        }
+    }
+
+    @Benchmark
+    public void longCents(Blackhole blackhole) {
+        long total = 0;
+        long[] sums = new long[categoryCount];
+        for (int i = 0; i < cents.length; i++) {
+            total += cents[i];
+            sums[categoryIndexes[i]] += cents[i];
+        }
+        for (long sum : sums) {
+            blackhole.consume(Money.percentage(sum, total));
+            blackhole.consume(Money.toBigDecimal(sum));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(MoneyArithmeticBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,87 @@
+package ExpenseFlow.benchmark;
+
+import ExpenseFlow.dto.BudgetResponse;
+import ExpenseFlow.dto.ExpenseResponse;
+import ExpenseFlow.entity.Budget;
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.service.BudgetService;
+import ExpenseFlow.service.ExpenseService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping throughput of the private {@code mapToResponse} methods of
+ * {@link ExpenseService} and {@link BudgetService}, called through constant method handles
+ * over one page of synthetic entities.
+ *
+ * <pre>
+ * mvn -Pbenchmark test -Djmh.include=ResponseMappingBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseMappingBenchmark {
+
+    private static final MethodHandle MAP_EXPENSE = mapper(ExpenseService.class, ExpenseResponse.class, Expense.class);
+    private static final MethodHandle MAP_BUDGET = mapper(BudgetService.class, BudgetResponse.class, Budget.class);
+
+    // Default and maximum page size of the expense listings
+    @Param({"50", "200"})
+    private int size;
+
+    private final ExpenseService expenseService = new ExpenseService();
+    private final BudgetService budgetService = new BudgetService();
+    private List<Expense> expenses;
+    private List<Budget> budgets;
+
+    @Setup
+    public void setUp() {
+        expenses = SyntheticExpenses.expenses(size, 42L);
+        budgets = SyntheticExpenses.budgets(size, 42L);
+    }
+
+    @Benchmark
+    public void expenseMapToResponse(Blackhole blackhole) throws Throwable {
+        for (Expense expense : expenses) {
+            blackhole.consume((ExpenseResponse) MAP_EXPENSE.invokeExact(expenseService, expense));
+        }
+    }
+
+    @Benchmark
+    public void budgetMapToResponse(Blackhole blackhole) throws Throwable {
+        for (Budget budget : budgets) {
+            blackhole.consume((BudgetResponse) MAP_BUDGET.invokeExact(budgetService, budget));
+        }
+    }
+
+    private static MethodHandle mapper(Class<?> service, Class<?> response, Class<?> entity) {
+        try {
+            return MethodHandles.privateLookupIn(service, MethodHandles.lookup())
+                    .findVirtual(service, "mapToResponse", MethodType.methodType(response, entity));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("mapToResponse not found on " + service.getSimpleName(), e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(ResponseMappingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
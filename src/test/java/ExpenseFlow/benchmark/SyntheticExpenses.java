@@ -0,0 +1,107 @@
+package ExpenseFlow.benchmark;
+
+import ExpenseFlow.entity.Budget;
+import ExpenseFlow.entity.Category;
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.entity.User;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic in-memory expense data for benchmarks, no database needed.
+ */
+public final class SyntheticExpenses {
+
+    private static final String[] CATEGORY_NAMES = {
+            "Food", "Rent", "Travel", "Utilities", "Shopping", "Health",
+            "Entertainment", "Education", "Insurance", "Gifts", "Fuel", "Other"
+    };
+
+    private SyntheticExpenses() {
+    }
+
+    public static List<Category> categories() {
+        List<Category> categories = new ArrayList<>(CATEGORY_NAMES.length);
+        for (int i = 0; i < CATEGORY_NAMES.length; i++) {
+            Category category = new Category();
+            category.setId((long) i + 1);
+            category.setName(CATEGORY_NAMES[i]);
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    public static User user() {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchmark");
+        user.setEmail("benchmark@example.com");
+        user.setRole(User.Role.USER);
+        return user;
+    }
+
+    /**
+     * Expenses spread over one calendar year with amounts between 0.01 and 500.00.
+     */
+    public static List<Expense> expenses(int size, long seed) {
+        return expenses(size, seed, 1);
+    }
+
+    /**
+     * Expenses spread over {@code years} years starting 2024-01-01.
+     */
+    public static List<Expense> expenses(int size, long seed, int years) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Category> categories = categories();
+        Expense.PaymentMethod[] paymentMethods = Expense.PaymentMethod.values();
+        LocalDate start = LocalDate.of(2024, 1, 1);
+
+        List<Expense> expenses = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Expense expense = new Expense();
+            expense.setId((long) i + 1);
+            expense.setTitle("Expense " + i);
+            expense.setAmount(BigDecimal.valueOf(random.nextLong(1, 50_001), 2));
+            expense.setExpenseDate(start.plusDays(random.nextInt(366 * years)));
+            expense.setCategory(categories.get(random.nextInt(categories.size())));
+            expense.setPaymentMethod(paymentMethods[random.nextInt(paymentMethods.length)]);
+            expense.setCreatedAt(expense.getExpenseDate().atTime(12, 0));
+            expense.setUpdatedAt(expense.getCreatedAt());
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+
+    /**
+     * Monthly budgets, every other one restricted to a category.
+     */
+    public static List<Budget> budgets(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Category> categories = categories();
+        LocalDate start = LocalDate.of(2024, 1, 1);
+
+        List<Budget> budgets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            LocalDate month = start.plusMonths(i % 12);
+            Budget budget = new Budget();
+            budget.setId((long) i + 1);
+            budget.setName("Budget " + i);
+            budget.setTotalAmount(BigDecimal.valueOf(random.nextLong(10_000, 500_001), 2));
+            budget.setSpentAmount(BigDecimal.valueOf(random.nextLong(0, 500_001), 2));
+            budget.setStartDate(month);
+            budget.setEndDate(month.plusMonths(1).minusDays(1));
+            budget.setBudgetType(Budget.BudgetType.MONTHLY);
+            if (i % 2 == 0) {
+                budget.setCategory(categories.get(random.nextInt(categories.size())));
+            }
+            budget.setCreatedAt(month.atStartOfDay());
+            budget.setUpdatedAt(budget.getCreatedAt());
+            budgets.add(budget);
+        }
+        return budgets;
+    }
+}
@@ -0,0 +1,127 @@
+package ExpenseFlow.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and status counts per endpoint for the measured part of a run.
+ * Latencies are in microseconds, measured from the scheduled start of each request
+ * so that time spent waiting behind a slow server is included.
+ */
+class LoadReport {
+
+    private final Map<Workload.Operation, Endpoint> endpoints = new EnumMap<>(Workload.Operation.class);
+    private final AtomicLong dropped = new AtomicLong();
+
+    LoadReport() {
+        for (Workload.Operation operation : Workload.Operation.values()) {
+            endpoints.put(operation, new Endpoint());
+        }
+    }
+
+    void record(Workload.Operation operation, int status, long latencyMicros) {
+        Endpoint endpoint = endpoints.get(operation);
+        endpoint.latencies.recordValue(Math.max(1, latencyMicros));
+        if (status < 200 || status >= 300) {
+            endpoint.errors.increment();
+        }
+        endpoint.statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    // Arrivals skipped because max-in-flight requests were already outstanding
+    void recordDropped() {
+        dropped.incrementAndGet();
+    }
+
+    Map<String, Object> summary(LoadTestSettings settings, double measuredSeconds) {
+        Histogram all = new Histogram(3);
+        long errors = 0;
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (Map.Entry<Workload.Operation, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            Histogram latencies = endpoint.latencies.copy();
+            if (latencies.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(latencies);
+            errors += endpoint.errors.sum();
+            Map<String, Object> row = stats(latencies, measuredSeconds);
+            row.put("endpoint", entry.getKey().getEndpoint());
+            row.put("errors", endpoint.errors.sum());
+            Map<String, Long> statuses = new LinkedHashMap<>();
+            endpoint.statuses.forEach((status, count) -> statuses.put(String.valueOf(status), count.sum()));
+            row.put("statuses", statuses);
+            rows.add(row);
+        }
+
+        Map<String, Object> total = stats(all, measuredSeconds);
+        total.put("errors", errors);
+        total.put("dropped", dropped.get());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("settings", settings);
+        summary.put("measuredSeconds", measuredSeconds);
+        summary.put("total", total);
+        summary.put("endpoints", rows);
+        return summary;
+    }
+
+    void print(Map<String, Object> summary) {
+        System.out.printf("%n%-34s %9s %7s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) summary.get("endpoints");
+        for (Map<String, Object> row : rows) {
+            printRow((String) row.get("endpoint"), row);
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> total = (Map<String, Object>) summary.get("total");
+        printRow("TOTAL", total);
+        System.out.printf("dropped arrivals: %d%n", (Long) total.get("dropped"));
+    }
+
+    void write(Map<String, Object> summary, Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), summary);
+    }
+
+    private static Map<String, Object> stats(Histogram latencies, double measuredSeconds) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("requests", latencies.getTotalCount());
+        stats.put("throughput", latencies.getTotalCount() / measuredSeconds);
+        stats.put("p50Ms", latencies.getValueAtPercentile(50) / 1000.0);
+        stats.put("p95Ms", latencies.getValueAtPercentile(95) / 1000.0);
+        stats.put("p99Ms", latencies.getValueAtPercentile(99) / 1000.0);
+        stats.put("maxMs", latencies.getMaxValue() / 1000.0);
+        return stats;
+    }
+
+    private static void printRow(String name, Map<String, Object> row) {
+        System.out.printf("%-34s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name,
+                (Long) row.get("requests"), (Long) row.get("errors"), (Double) row.get("throughput"),
+                (Double) row.get("p50Ms"), (Double) row.get("p95Ms"), (Double) row.get("p99Ms"),
+                (Double) row.get("maxMs"));
+    }
+
+    private static final class Endpoint {
+        private final ConcurrentHistogram latencies = new ConcurrentHistogram(3);
+        private final LongAdder errors = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    }
+}
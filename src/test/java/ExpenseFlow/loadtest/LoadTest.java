@@ -0,0 +1,199 @@
+package ExpenseFlow.loadtest;
+
+import ExpenseFlow.ExpenseFlow_Application;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * End-to-end load test: boots the application on a random port against embedded H2
+ * (profile "loadtest"), seeds a population, then drives a workload mix over HTTP at a
+ * fixed arrival rate and reports throughput and p50/p95/p99 latency per endpoint.
+ * Runs offline, everything happens in this JVM.
+ *
+ * <pre>
+ * mvn -Ploadtest test
+ * mvn -Ploadtest test -Dloadtest.args="--loadtest.workload=read-heavy --loadtest.rate=500 --loadtest.users=200"
+ * </pre>
+ *
+ * Any application property can be overridden the same way, e.g. a file-backed database with
+ * {@code --spring.datasource.url=jdbc:h2:file:./target/loadtest-db;MODE=MySQL;DATABASE_TO_LOWER=TRUE}.
+ */
+public class LoadTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private final LoadTestSettings settings;
+    private final List<SeededUser> users;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final LoadReport report = new LoadReport();
+
+    LoadTest(LoadTestSettings settings, List<SeededUser> users, int port, ExecutorService executor) {
+        this.settings = settings;
+        this.users = users;
+        this.baseUrl = "http://localhost:" + port;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication application = new SpringApplication(ExpenseFlow_Application.class);
+        application.setAdditionalProfiles("loadtest");
+        ConfigurableApplicationContext context = application.run(args);
+        int exitCode = 0;
+        try {
+            LoadTestSettings settings = LoadTestSettings.from(context.getEnvironment());
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            long seedStart = System.nanoTime();
+            List<SeededUser> users = new LoadTestSeeder(context, settings).seed();
+            System.out.printf("Seeded %d users, %d expenses in %.1f s%n", users.size(),
+                    (long) users.size() * settings.expensesPerUser(), (System.nanoTime() - seedStart) / 1e9);
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                new LoadTest(settings, users, port, executor).run(executor);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            exitCode = 1;
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    void run(ExecutorService executor) throws Exception {
+        System.out.printf("Workload %s at %d req/s: %d s warmup, %d s measured%n", settings.workload(),
+                settings.rate(), settings.warmupSeconds(), settings.durationSeconds());
+
+        SplittableRandom scheduleRandom = new SplittableRandom(settings.seed());
+        Semaphore inFlight = new Semaphore(settings.maxInFlight());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / settings.rate();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+
+        // Open model: arrivals follow the schedule whatever the response times are
+        for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = scheduled >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    report.recordDropped();
+                }
+                continue;
+            }
+            SeededUser user = users.get(scheduleRandom.nextInt(users.size()));
+            Workload.Operation operation = settings.workload().next(scheduleRandom);
+            SplittableRandom random = scheduleRandom.split();
+            long scheduledAt = scheduled;
+            executor.execute(() -> {
+                try {
+                    int status = execute(operation, user, random);
+                    if (measured) {
+                        report.record(operation, status, (System.nanoTime() - scheduledAt) / 1000);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+        inFlight.acquire(settings.maxInFlight());
+
+        Map<String, Object> summary = report.summary(settings, settings.durationSeconds());
+        report.print(summary);
+        Path path = Path.of(settings.report());
+        report.write(summary, path);
+        System.out.println("Report written to " + path.toAbsolutePath());
+    }
+
+    // Returns the HTTP status, or 0 when the request failed without a response
+    private int execute(Workload.Operation operation, SeededUser user, SplittableRandom random) {
+        try {
+            return switch (operation) {
+                case LOGIN -> send(json(HttpRequest.newBuilder(uri("/api/auth/login")), "POST",
+                        "{\"username\":\"" + user.getUsername() + "\",\"password\":\""
+                                + LoadTestSeeder.PASSWORD + "\"}")).statusCode();
+                case LIST_EXPENSES -> send(authorized(user, "/api/expenses").GET()).statusCode();
+                case GET_EXPENSE -> {
+                    Long expenseId = user.randomExpenseId(random);
+                    yield expenseId == null ? execute(Workload.Operation.CREATE_EXPENSE, user, random)
+                            : send(authorized(user, "/api/expenses/" + expenseId).GET()).statusCode();
+                }
+                case CREATE_EXPENSE -> {
+                    HttpResponse<String> response = send(json(authorized(user, "/api/expenses"),
+                            "POST", expenseBody(user, random)));
+                    Matcher matcher = ID.matcher(response.body());
+                    if (response.statusCode() == 201 && matcher.find()) {
+                        user.addExpense(Long.parseLong(matcher.group(1)));
+                    }
+                    yield response.statusCode();
+                }
+                case UPDATE_EXPENSE -> {
+                    Long expenseId = user.randomExpenseId(random);
+                    yield expenseId == null ? execute(Workload.Operation.CREATE_EXPENSE, user, random)
+                            : send(json(authorized(user, "/api/expenses/" + expenseId),
+                            "PUT", expenseBody(user, random))).statusCode();
+                }
+                case DELETE_EXPENSE -> {
+                    Long expenseId = user.takeExpenseId(random);
+                    yield expenseId == null ? execute(Workload.Operation.CREATE_EXPENSE, user, random)
+                            : send(authorized(user, "/api/expenses/" + expenseId).DELETE()).statusCode();
+                }
+                case LIST_BUDGETS -> send(authorized(user, "/api/budgets").GET()).statusCode();
+                case ANALYTICS -> send(authorized(user, "/api/analytics/year/"
+                        + (LocalDate.now().getYear() - random.nextInt(settings.years()))).GET()).statusCode();
+            };
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    private String expenseBody(SeededUser user, SplittableRandom random) {
+        return "{\"title\":\"Load expense\",\"amount\":" + random.nextInt(1, 500) + "." + random.nextInt(10, 100)
+                + ",\"expenseDate\":\"" + LocalDate.now().minusDays(random.nextInt(60))
+                + "\",\"categoryId\":" + user.randomCategoryId(random) + ",\"paymentMethod\":\"UPI\"}";
+    }
+
+    private HttpRequest.Builder authorized(SeededUser user, String path) {
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + user.getToken());
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.timeout(Duration.ofSeconds(30)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder request, String method, String body) {
+        return request.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+    }
+}
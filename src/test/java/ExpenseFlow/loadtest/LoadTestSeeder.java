@@ -0,0 +1,129 @@
+package ExpenseFlow.loadtest;
+
+import ExpenseFlow.config.jwt.JwtUtils;
+import ExpenseFlow.entity.Budget;
+import ExpenseFlow.entity.Category;
+import ExpenseFlow.entity.Expense;
+import ExpenseFlow.entity.User;
+import ExpenseFlow.repository.BudgetRepository;
+import ExpenseFlow.repository.CategoryRepository;
+import ExpenseFlow.repository.ExpenseRepository;
+import ExpenseFlow.repository.UserRepository;
+import ExpenseFlow.service.BudgetSpentService;
+import ExpenseFlow.service.ExpenseRollupService;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Fills the database of a booted application with a deterministic population through
+ * the repositories, then rebuilds the derived rollup and budget totals.
+ */
+class LoadTestSeeder {
+
+    static final String PASSWORD = "loadtest123";
+
+    private static final String[] CATEGORY_NAMES = {
+            "Food", "Rent", "Travel", "Utilities", "Shopping", "Health",
+            "Entertainment", "Education", "Insurance", "Gifts", "Fuel", "Other"
+    };
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ApplicationContext context;
+    private final LoadTestSettings settings;
+
+    LoadTestSeeder(ApplicationContext context, LoadTestSettings settings) {
+        this.context = context;
+        this.settings = settings;
+    }
+
+    List<SeededUser> seed() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        ExpenseRepository expenseRepository = context.getBean(ExpenseRepository.class);
+        BudgetRepository budgetRepository = context.getBean(BudgetRepository.class);
+        JwtUtils jwtUtils = context.getBean(JwtUtils.class);
+
+        SplittableRandom random = new SplittableRandom(settings.seed());
+        // Every user shares one password, hashed once
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        Expense.PaymentMethod[] paymentMethods = Expense.PaymentMethod.values();
+        LocalDate today = LocalDate.now();
+
+        List<User> users = new ArrayList<>(settings.users());
+        for (int i = 0; i < settings.users(); i++) {
+            User user = new User();
+            user.setUsername("load" + i);
+            user.setEmail("load" + i + "@example.com");
+            user.setPassword(passwordHash);
+            user.setFirstName("Load");
+            user.setLastName("User" + i);
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<SeededUser> seeded = new ArrayList<>(users.size());
+        List<Expense> pending = new ArrayList<>(CHUNK_SIZE);
+        for (User user : users) {
+            List<Category> categories = new ArrayList<>(settings.categoriesPerUser());
+            for (int c = 0; c < settings.categoriesPerUser(); c++) {
+                Category category = new Category();
+                category.setName(CATEGORY_NAMES[c % CATEGORY_NAMES.length] + (c >= CATEGORY_NAMES.length ? " " + c : ""));
+                category.setUser(user);
+                categories.add(category);
+            }
+            categories = categoryRepository.saveAll(categories);
+
+            SeededUser seededUser = new SeededUser(user.getId(), user.getUsername(), jwtUtils.generateToken(user),
+                    categories.stream().map(Category::getId).toList());
+            List<Expense> userExpenses = new ArrayList<>(settings.expensesPerUser());
+            for (int e = 0; e < settings.expensesPerUser(); e++) {
+                Expense expense = new Expense();
+                expense.setTitle("Seeded expense " + e);
+                expense.setAmount(BigDecimal.valueOf(random.nextLong(100, 50_001), 2));
+                expense.setExpenseDate(today.minusDays(random.nextInt(365 * settings.years())));
+                expense.setCategory(categories.get(random.nextInt(categories.size())));
+                expense.setPaymentMethod(paymentMethods[random.nextInt(paymentMethods.length)]);
+                expense.setUser(user);
+                userExpenses.add(expense);
+                pending.add(expense);
+                if (pending.size() == CHUNK_SIZE) {
+                    expenseRepository.saveAll(pending);
+                    pending.clear();
+                }
+            }
+            if (!pending.isEmpty()) {
+                expenseRepository.saveAll(pending);
+                pending.clear();
+            }
+            userExpenses.forEach(expense -> seededUser.addExpense(expense.getId()));
+
+            List<Budget> budgets = new ArrayList<>(settings.budgetsPerUser());
+            for (int b = 0; b < settings.budgetsPerUser(); b++) {
+                LocalDate month = today.withDayOfMonth(1).minusMonths(b);
+                Budget budget = new Budget();
+                budget.setName("Budget " + b);
+                budget.setTotalAmount(BigDecimal.valueOf(random.nextLong(50_000, 500_001), 2));
+                budget.setStartDate(month);
+                budget.setEndDate(month.plusMonths(1).minusDays(1));
+                if (b % 2 == 1) {
+                    budget.setCategory(categories.get(random.nextInt(categories.size())));
+                }
+                budget.setUser(user);
+                budgets.add(budget);
+            }
+            budgetRepository.saveAll(budgets);
+            seeded.add(seededUser);
+        }
+
+        // Rows were written around the services, bring the derived tables in step
+        context.getBean(ExpenseRollupService.class).rebuildAll();
+        context.getBean(BudgetSpentService.class).reconcileAll();
+        return seeded;
+    }
+}
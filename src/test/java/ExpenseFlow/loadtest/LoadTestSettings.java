@@ -0,0 +1,36 @@
+package ExpenseFlow.loadtest;
+
+import org.springframework.core.env.Environment;
+
+/**
+ * Load test knobs, read from the loadtest.* properties (see application-loadtest.properties).
+ */
+record LoadTestSettings(int users,
+                        int categoriesPerUser,
+                        int expensesPerUser,
+                        int budgetsPerUser,
+                        int years,
+                        long seed,
+                        Workload workload,
+                        int rate,
+                        int warmupSeconds,
+                        int durationSeconds,
+                        int maxInFlight,
+                        String report) {
+
+    static LoadTestSettings from(Environment env) {
+        return new LoadTestSettings(
+                env.getProperty("loadtest.users", Integer.class, 50),
+                env.getProperty("loadtest.categories-per-user", Integer.class, 8),
+                env.getProperty("loadtest.expenses-per-user", Integer.class, 500),
+                env.getProperty("loadtest.budgets-per-user", Integer.class, 4),
+                env.getProperty("loadtest.years", Integer.class, 2),
+                env.getProperty("loadtest.seed", Long.class, 42L),
+                Workload.parse(env.getProperty("loadtest.workload", "mixed")),
+                env.getProperty("loadtest.rate", Integer.class, 200),
+                env.getProperty("loadtest.warmup-seconds", Integer.class, 10),
+                env.getProperty("loadtest.duration-seconds", Integer.class, 60),
+                env.getProperty("loadtest.max-in-flight", Integer.class, 256),
+                env.getProperty("loadtest.report", "target/loadtest-result.json"));
+    }
+}
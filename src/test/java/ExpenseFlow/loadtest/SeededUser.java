@@ -0,0 +1,61 @@
+package ExpenseFlow.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * A seeded account as seen by the load generator: its token, categories, and the
+ * ids of the expenses it currently owns.
+ */
+class SeededUser {
+
+    private final Long id;
+    private final String username;
+    private final String token;
+    private final List<Long> categoryIds;
+    private final List<Long> expenseIds = new ArrayList<>();
+
+    SeededUser(Long id, String username, String token, List<Long> categoryIds) {
+        this.id = id;
+        this.username = username;
+        this.token = token;
+        this.categoryIds = categoryIds;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    String getUsername() {
+        return username;
+    }
+
+    String getToken() {
+        return token;
+    }
+
+    Long randomCategoryId(SplittableRandom random) {
+        return categoryIds.get(random.nextInt(categoryIds.size()));
+    }
+
+    synchronized void addExpense(Long expenseId) {
+        expenseIds.add(expenseId);
+    }
+
+    synchronized Long randomExpenseId(SplittableRandom random) {
+        return expenseIds.isEmpty() ? null : expenseIds.get(random.nextInt(expenseIds.size()));
+    }
+
+    // Swap-remove, the order of the ids does not matter
+    synchronized Long takeExpenseId(SplittableRandom random) {
+        if (expenseIds.isEmpty()) {
+            return null;
+        }
+        int index = random.nextInt(expenseIds.size());
+        Long expenseId = expenseIds.get(index);
+        expenseIds.set(index, expenseIds.get(expenseIds.size() - 1));
+        expenseIds.remove(expenseIds.size() - 1);
+        return expenseId;
+    }
+}
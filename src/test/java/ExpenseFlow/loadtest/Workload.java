@@ -0,0 +1,101 @@
+package ExpenseFlow.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Request mixes for the load test, as relative weights per operation.
+ */
+public enum Workload {
+
+    // Typical day: mostly browsing, some bookkeeping
+    MIXED(Map.of(
+            Operation.LOGIN, 2,
+            Operation.LIST_EXPENSES, 25,
+            Operation.GET_EXPENSE, 15,
+            Operation.CREATE_EXPENSE, 15,
+            Operation.UPDATE_EXPENSE, 8,
+            Operation.DELETE_EXPENSE, 5,
+            Operation.LIST_BUDGETS, 15,
+            Operation.ANALYTICS, 15)),
+
+    // Dashboards polling lists and analytics
+    READ_HEAVY(Map.of(
+            Operation.LOGIN, 1,
+            Operation.LIST_EXPENSES, 35,
+            Operation.GET_EXPENSE, 20,
+            Operation.CREATE_EXPENSE, 3,
+            Operation.UPDATE_EXPENSE, 2,
+            Operation.DELETE_EXPENSE, 1,
+            Operation.LIST_BUDGETS, 20,
+            Operation.ANALYTICS, 18)),
+
+    // Clients syncing expenses
+    WRITE_HEAVY(Map.of(
+            Operation.LOGIN, 1,
+            Operation.LIST_EXPENSES, 10,
+            Operation.GET_EXPENSE, 5,
+            Operation.CREATE_EXPENSE, 50,
+            Operation.UPDATE_EXPENSE, 20,
+            Operation.DELETE_EXPENSE, 8,
+            Operation.LIST_BUDGETS, 3,
+            Operation.ANALYTICS, 3)),
+
+    // Start of the month: everyone logs in, enters expenses and checks budgets
+    MONTH_START(Map.of(
+            Operation.LOGIN, 15,
+            Operation.LIST_EXPENSES, 15,
+            Operation.CREATE_EXPENSE, 40,
+            Operation.LIST_BUDGETS, 15,
+            Operation.ANALYTICS, 15));
+
+    public enum Operation {
+        LOGIN("POST /api/auth/login"),
+        LIST_EXPENSES("GET /api/expenses"),
+        GET_EXPENSE("GET /api/expenses/{id}"),
+        CREATE_EXPENSE("POST /api/expenses"),
+        UPDATE_EXPENSE("PUT /api/expenses/{id}"),
+        DELETE_EXPENSE("DELETE /api/expenses/{id}"),
+        LIST_BUDGETS("GET /api/budgets"),
+        ANALYTICS("GET /api/analytics/year/{year}");
+
+        private final String endpoint;
+
+        Operation(String endpoint) {
+            this.endpoint = endpoint;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+    }
+
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    Workload(Map<Operation, Integer> weights) {
+        Map<Operation, Integer> ordered = new EnumMap<>(weights);
+        operations = ordered.keySet().toArray(new Operation[0]);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += ordered.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public Operation next(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public static Workload parse(String value) {
+        return valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
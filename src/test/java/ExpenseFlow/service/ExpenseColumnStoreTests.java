@@ -0,0 +1,101 @@
+package ExpenseFlow.service;
+
+import ExpenseFlow.entity.Expense;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExpenseColumnStoreTests {
+
+	private static final byte CASH = (byte) Expense.PaymentMethod.CASH.ordinal();
+	private static final byte UPI = (byte) Expense.PaymentMethod.UPI.ordinal();
+	private static final LocalDate FROM = LocalDate.of(2000, 1, 1);
+	private static final LocalDate TO = LocalDate.of(2100, 12, 31);
+
+	private ExpenseColumnStore.UserColumns columns;
+	private Map<Long, String> categoryNames;
+
+	@BeforeEach
+	void setUp() {
+		columns = new ExpenseColumnStore.UserColumns();
+		categoryNames = new HashMap<>(Map.of(1L, "Food", 2L, "Travel"));
+	}
+
+	@Test
+	void aggregateGroupsEachMonthByCategoryAndPaymentMethod() {
+		columns.put(1, day(2026, 1, 10), 1250, 1, CASH);
+		columns.put(2, day(2026, 1, 31), 4025, 1, CASH);
+		columns.put(3, day(2026, 1, 20), 500, 1, UPI);
+		columns.put(4, day(2026, 2, 1), 2000, 2, UPI);
+		columns.put(5, day(2026, 2, 28), 700, 1, CASH);
+		columns.put(6, day(2026, 4, 3), 100, 1, CASH);
+
+		assertEquals(List.of("Food|2026|1|CASH|5275|2", "Food|2026|1|UPI|500|1", "Food|2026|2|CASH|700|1",
+				"Food|2026|4|CASH|100|1", "Travel|2026|2|UPI|2000|1"), aggregate(FROM, TO));
+		assertEquals(List.of("Food|2026|1|CASH|4025|1", "Travel|2026|2|UPI|2000|1"),
+				aggregate(LocalDate.of(2026, 1, 31), LocalDate.of(2026, 2, 1)));
+		assertEquals(List.of(), aggregate(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 31)));
+	}
+
+	@Test
+	void putReplacesTheRowWithTheSameId() {
+		columns.put(1, day(2026, 1, 10), 1250, 1, CASH);
+		columns.put(2, day(2026, 1, 10), 4025, 1, CASH);
+		columns.put(1, day(2026, 3, 5), 1500, 2, UPI);
+		columns.put(1, day(2026, 3, 5), 1500, 2, UPI);
+
+		assertEquals(2, columns.size());
+		assertEquals(List.of("Food|2026|1|CASH|4025|1", "Travel|2026|3|UPI|1500|1"), aggregate(FROM, TO));
+	}
+
+	@Test
+	void removeDropsOnlyThatRow() {
+		columns.put(1, day(2026, 1, 10), 1250, 1, CASH);
+		columns.put(2, day(2026, 1, 10), 4025, 1, CASH);
+		columns.put(3, day(2026, 2, 1), 2000, 2, UPI);
+
+		columns.remove(2);
+		columns.remove(42);
+
+		assertEquals(2, columns.size());
+		assertEquals(List.of("Food|2026|1|CASH|1250|1", "Travel|2026|2|UPI|2000|1"), aggregate(FROM, TO));
+	}
+
+	@Test
+	void categoryCodesGrowAndUnknownCategoriesAreSkipped() {
+		for (long category = 1; category <= 20; category++) {
+			columns.put(category, day(2026, 5, (int) category), category * 100, category, CASH);
+			categoryNames.put(category, "C" + category);
+		}
+		categoryNames.remove(7L);
+
+		List<String> rows = aggregate(FROM, TO);
+		assertEquals(19, rows.size());
+		assertTrue(rows.contains("C20|2026|5|CASH|2000|1"));
+		assertFalse(rows.stream().anyMatch(row -> row.startsWith("C7|")));
+	}
+
+	private List<String> aggregate(LocalDate startDate, LocalDate endDate) {
+		List<String> rows = new ArrayList<>();
+		columns.aggregate(startDate, endDate, categoryNames, new AnalyticsAccumulator() {
+			@Override
+			public void add(String categoryName, int year, int month, Expense.PaymentMethod paymentMethod,
+							long cents, long count) {
+				rows.add(String.join("|", categoryName, String.valueOf(year), String.valueOf(month),
+						paymentMethod.name(), String.valueOf(cents), String.valueOf(count)));
+			}
+		});
+		return rows.stream().sorted().toList();
+	}
+
+	private static int day(int year, int month, int dayOfMonth) {
+		return (int) LocalDate.of(year, month, dayOfMonth).toEpochDay();
+	}
+}
@@ -0,0 +1,52 @@
+package ExpenseFlow.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTextTests {
+
+	@Test
+	void termsAreFoldedSplitAndFiltered() {
+		Set<String> terms = SearchText.terms("Café au LAIT, the café & a croissant-2x", 40);
+		assertEquals(List.of("cafe", "au", "lait", "croissant", "2x"), List.copyOf(terms));
+	}
+
+	@Test
+	void termsAreTruncatedToMaxLength() {
+		assertEquals(Set.of("suppl", "rent"), SearchText.terms("supplementary rent", 5));
+	}
+
+	@Test
+	void blankTextHasNoTerms() {
+		assertTrue(SearchText.terms(null, 40).isEmpty());
+		assertTrue(SearchText.terms("  ", 40).isEmpty());
+		assertTrue(SearchText.terms("a of the", 40).isEmpty());
+	}
+
+	@Test
+	void editDistanceCountsSingleEdits() {
+		assertEquals(0, SearchText.editDistance("uber", "uber", 2));
+		assertEquals(1, SearchText.editDistance("uber", "ubers", 2));
+		assertEquals(1, SearchText.editDistance("uber", "ube", 2));
+		assertEquals(1, SearchText.editDistance("uber", "uper", 2));
+	}
+
+	@Test
+	void editDistanceCountsAdjacentSwapAsOneEdit() {
+		assertEquals(1, SearchText.editDistance("ubre", "uber", 1));
+		assertEquals(1, SearchText.editDistance("ab", "ba", 1));
+		assertEquals(1, SearchText.editDistance("grocery", "grcoery", 2));
+		assertEquals(2, SearchText.editDistance("ubre", "ubers", 2));
+	}
+
+	@Test
+	void editDistanceStopsAboveMaxEdits() {
+		assertEquals(2, SearchText.editDistance("coffee", "tea", 1));
+		assertEquals(2, SearchText.editDistance("metro", "movie", 1));
+		assertEquals(3, SearchText.editDistance("rent", "rentals", 2));
+	}
+}